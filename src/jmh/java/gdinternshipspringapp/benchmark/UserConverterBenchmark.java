@@ -0,0 +1,96 @@
+package gdinternshipspringapp.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import gdinternshipspringapp.converter.UserConverter;
+import gdinternshipspringapp.converter.impl.DirectUserConverterImpl;
+import gdinternshipspringapp.converter.impl.UserConverterImpl;
+import gdinternshipspringapp.model.dto.UserDto;
+import gdinternshipspringapp.model.entity.User;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion and serialization of a single user graph and of a page of users.
+ * Graph size is topics * postsPerTopic posts, each post with commentsPerPost comments and picsPerPost pics.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserConverterBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"direct", "model-mapper"})
+    private String converterType;
+
+    @Param({"1", "10"})
+    private int topics;
+
+    @Param({"10"})
+    private int postsPerTopic;
+
+    @Param({"3"})
+    private int commentsPerPost;
+
+    @Param({"2"})
+    private int picsPerPost;
+
+    private UserConverter converter;
+
+    private ObjectMapper objectMapper;
+
+    private User user;
+
+    private List<User> users;
+
+    private UserDto userDto;
+
+    @Setup
+    public void setUp() {
+        converter = "direct".equals(converterType)
+                ? new DirectUserConverterImpl()
+                : new UserConverterImpl(new ModelMapper());
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        UserGraphFactory factory = new UserGraphFactory();
+        user = factory.createUser(topics, postsPerTopic, commentsPerPost, picsPerPost);
+        users = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            users.add(factory.createUser(topics, postsPerTopic, commentsPerPost, picsPerPost));
+        }
+        userDto = converter.toUserDto(user);
+    }
+
+    @Benchmark
+    public UserDto toUserDto() {
+        return converter.toUserDto(user);
+    }
+
+    @Benchmark
+    public List<UserDto> toUserDtos() {
+        return converter.toUserDtos(users);
+    }
+
+    @Benchmark
+    public User toUser() {
+        return converter.toUser(userDto);
+    }
+
+    @Benchmark
+    public byte[] serializeUserDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userDto);
+    }
+
+    @Benchmark
+    public byte[] convertAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(converter.toUserDto(user));
+    }
+}
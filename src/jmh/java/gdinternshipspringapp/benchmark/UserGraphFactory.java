@@ -0,0 +1,97 @@
+package gdinternshipspringapp.benchmark;
+
+import gdinternshipspringapp.model.entity.*;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Builds a persisted-like user graph: ids are set and back-references are wired
+ */
+final class UserGraphFactory {
+
+    private long nextId = 1;
+
+    User createUser(int topics, int postsPerTopic, int commentsPerPost, int picsPerPost) {
+        User user = new User();
+        user.setId(nextId++);
+        user.setName("User " + user.getId());
+        user.setEmail("user" + user.getId() + "@gmail.com");
+        user.setLogin("user" + user.getId());
+        user.setPassword("asdf");
+        user.setRole(Role.USER);
+        Section section = new Section();
+        section.setId(nextId++);
+        section.setName("Cold steel and projectile weapons");
+        Forum forum = new Forum();
+        forum.setId(nextId++);
+        forum.setName("Sharpening of cutting tool");
+        forum.setSection(section);
+        Set<Topic> userTopics = new HashSet<>();
+        Set<Post> userPosts = new HashSet<>();
+        Set<Comment> userComments = new HashSet<>();
+        for (int t = 0; t < topics; t++) {
+            Set<Post> topicPosts = new HashSet<>();
+            for (int p = 0; p < postsPerTopic; p++) {
+                Post post = createPost(user, commentsPerPost, picsPerPost);
+                userComments.addAll(post.getComments());
+                topicPosts.add(post);
+            }
+            Topic topic = createTopic(user, forum, topicPosts);
+            userPosts.addAll(topicPosts);
+            userTopics.add(topic);
+        }
+        user.setTopics(userTopics);
+        user.setPosts(userPosts);
+        user.setComments(userComments);
+        return user;
+    }
+
+    private Topic createTopic(User user, Forum forum, Set<Post> posts) {
+        Tag tag = new Tag();
+        tag.setId(nextId++);
+        tag.setName("Tag " + tag.getId());
+        Topic topic = new Topic();
+        topic.setId(nextId++);
+        topic.setName("Topic " + topic.getId());
+        topic.setMessage("Identify stone");
+        topic.setUser(user);
+        topic.setForum(forum);
+        Set<Tag> tags = new HashSet<>();
+        tags.add(tag);
+        topic.setTags(tags);
+        posts.forEach(post -> post.setTopic(topic));
+        topic.setPosts(posts);
+        return topic;
+    }
+
+    private Post createPost(User user, int comments, int pics) {
+        Post post = new Post();
+        post.setId(nextId++);
+        post.setMessage("Help me to identify sharpening stone from ebay " + post.getId());
+        post.setDate(LocalDate.of(2022, 2, 10));
+        post.setUser(user);
+        Set<Pic> postPics = new HashSet<>();
+        for (int i = 0; i < pics; i++) {
+            Pic pic = new Pic();
+            pic.setId(nextId++);
+            pic.setCaption("Washita oil stone " + pic.getId());
+            pic.setImageLink("http://zatochiklinok.ru/wp-content/gallery/washita/" + pic.getId() + ".JPG");
+            pic.setPost(post);
+            postPics.add(pic);
+        }
+        Set<Comment> postComments = new HashSet<>();
+        for (int i = 0; i < comments; i++) {
+            Comment comment = new Comment();
+            comment.setId(nextId++);
+            comment.setName("Comment " + comment.getId());
+            comment.setUser(user);
+            comment.setPost(post);
+            postComments.add(comment);
+        }
+        post.setPics(postPics);
+        post.setComments(postComments);
+        return post;
+    }
+}
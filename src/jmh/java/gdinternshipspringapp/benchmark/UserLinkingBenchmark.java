@@ -0,0 +1,42 @@
+package gdinternshipspringapp.benchmark;
+
+import gdinternshipspringapp.converter.UserConverter;
+import gdinternshipspringapp.converter.impl.DirectUserConverterImpl;
+import gdinternshipspringapp.model.dto.UserDto;
+import gdinternshipspringapp.model.entity.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of a user dto to an entity graph at growing graph sizes.
+ * Each topic brings 10 posts with 3 comments each, so the graph grows linearly with topics
+ * and so should the time if back-references are wired in linear time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserLinkingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int topics;
+
+    private UserConverter converter;
+
+    private UserDto userDto;
+
+    @Setup
+    public void setUp() {
+        converter = new DirectUserConverterImpl();
+        User user = new UserGraphFactory().createUser(topics, 10, 3, 1);
+        userDto = converter.toUserDto(user);
+    }
+
+    @Benchmark
+    public User toUser() {
+        return converter.toUser(userDto);
+    }
+}
@@ -8,12 +8,14 @@ import gdinternshipspringapp.converter.UserConverter;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.HashSet;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class GdInternshipSpringAppApplication implements CommandLineRunner {
 
 	private final UserService service;
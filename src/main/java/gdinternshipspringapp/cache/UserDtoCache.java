@@ -0,0 +1,116 @@
+package gdinternshipspringapp.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import gdinternshipspringapp.model.dto.*;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Keeps its own copies of cached {@link UserDto}s and hands out copies of them, so that a caller changing
+ * a found user changes neither the cache nor the users found by other callers.
+ */
+public class UserDtoCache extends CaffeineCache {
+
+    public UserDtoCache(String name, Cache<Object, Object> cache) {
+        super(name, cache, false);
+    }
+
+    @Override
+    protected Object toStoreValue(Object userValue) {
+        return super.toStoreValue(copy((UserDto) userValue));
+    }
+
+    @Override
+    protected Object fromStoreValue(Object storeValue) {
+        return copy((UserDto) super.fromStoreValue(storeValue));
+    }
+
+    private static UserDto copy(UserDto user) {
+        if (user == null) {
+            return null;
+        }
+        UserDto copy = new UserDto();
+        copy.setId(user.getId());
+        copy.setName(user.getName());
+        copy.setEmail(user.getEmail());
+        copy.setLogin(user.getLogin());
+        copy.setPassword(user.getPassword());
+        copy.setRole(user.getRole());
+        copy.setVersion(user.getVersion());
+        copy.setTopics(copyAll(user.getTopics(), UserDtoCache::copyTopic));
+        copy.setPosts(copyAll(user.getPosts(), UserDtoCache::copyPost));
+        copy.setComments(copyAll(user.getComments(), UserDtoCache::copyComment));
+        return copy;
+    }
+
+    private static TopicDto copyTopic(TopicDto topic) {
+        TopicDto copy = new TopicDto();
+        copy.setId(topic.getId());
+        copy.setName(topic.getName());
+        copy.setMessage(topic.getMessage());
+        copy.setForum(copyForum(topic.getForum()));
+        copy.setTags(copyAll(topic.getTags(), UserDtoCache::copyTag));
+        return copy;
+    }
+
+    private static ForumDto copyForum(ForumDto forum) {
+        if (forum == null) {
+            return null;
+        }
+        ForumDto copy = new ForumDto();
+        copy.setId(forum.getId());
+        copy.setName(forum.getName());
+        if (forum.getSection() != null) {
+            SectionDto section = new SectionDto();
+            section.setId(forum.getSection().getId());
+            section.setName(forum.getSection().getName());
+            copy.setSection(section);
+        }
+        return copy;
+    }
+
+    private static TagDto copyTag(TagDto tag) {
+        TagDto copy = new TagDto();
+        copy.setId(tag.getId());
+        copy.setName(tag.getName());
+        return copy;
+    }
+
+    private static PostDto copyPost(PostDto post) {
+        PostDto copy = new PostDto();
+        copy.setId(post.getId());
+        copy.setMessage(post.getMessage());
+        copy.setDate(post.getDate());
+        copy.setPics(copyAll(post.getPics(), UserDtoCache::copyPic));
+        return copy;
+    }
+
+    private static PicDto copyPic(PicDto pic) {
+        PicDto copy = new PicDto();
+        copy.setId(pic.getId());
+        copy.setCaption(pic.getCaption());
+        copy.setImageLink(pic.getImageLink());
+        return copy;
+    }
+
+    private static CommentDto copyComment(CommentDto comment) {
+        CommentDto copy = new CommentDto();
+        copy.setId(comment.getId());
+        copy.setName(comment.getName());
+        return copy;
+    }
+
+    private static <T> Set<T> copyAll(Set<T> values, Function<T, T> copier) {
+        if (values == null) {
+            return null;
+        }
+        Set<T> copies = new HashSet<>(values.size() * 4 / 3 + 1);
+        for (T value : values) {
+            copies.add(copier.apply(value));
+        }
+        return copies;
+    }
+}
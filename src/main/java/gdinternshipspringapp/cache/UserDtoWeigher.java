@@ -0,0 +1,78 @@
+package gdinternshipspringapp.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import gdinternshipspringapp.model.dto.*;
+
+import java.util.Collection;
+
+/**
+ * Rough estimate of the heap retained by a cached {@link UserDto}: a fixed cost per object plus string contents.
+ * It only has to be proportional to the real size, so that the cache is bounded by memory rather than by entries.
+ */
+public class UserDtoWeigher implements Weigher<Object, Object> {
+
+    private static final int OBJECT = 32;
+
+    private static final int STRING = 40;
+
+    private static final int SET_ENTRY = 48;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        long weight = OBJECT + weighUser((UserDto) value);
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    private static long weighUser(UserDto user) {
+        long weight = OBJECT + weigh(user.getName()) + weigh(user.getEmail())
+                + weigh(user.getLogin()) + weigh(user.getPassword());
+        if (user.getTopics() != null) {
+            for (TopicDto topic : user.getTopics()) {
+                weight += SET_ENTRY + OBJECT + weigh(topic.getName()) + weigh(topic.getMessage())
+                        + weighForum(topic.getForum()) + weighAll(topic.getTags());
+            }
+        }
+        if (user.getPosts() != null) {
+            for (PostDto post : user.getPosts()) {
+                weight += SET_ENTRY + OBJECT * 2 + weigh(post.getMessage());
+                if (post.getPics() != null) {
+                    for (PicDto pic : post.getPics()) {
+                        weight += SET_ENTRY + OBJECT + weigh(pic.getCaption()) + weigh(pic.getImageLink());
+                    }
+                }
+            }
+        }
+        if (user.getComments() != null) {
+            for (CommentDto comment : user.getComments()) {
+                weight += SET_ENTRY + OBJECT + weigh(comment.getName());
+            }
+        }
+        return weight;
+    }
+
+    private static long weighForum(ForumDto forum) {
+        if (forum == null) {
+            return 0;
+        }
+        long weight = OBJECT + weigh(forum.getName());
+        if (forum.getSection() != null) {
+            weight += OBJECT + weigh(forum.getSection().getName());
+        }
+        return weight;
+    }
+
+    private static long weighAll(Collection<TagDto> tags) {
+        if (tags == null) {
+            return 0;
+        }
+        long weight = 0;
+        for (TagDto tag : tags) {
+            weight += SET_ENTRY + OBJECT + weigh(tag.getName());
+        }
+        return weight;
+    }
+
+    private static long weigh(String value) {
+        return value == null ? 0 : STRING + value.length();
+    }
+}
@@ -0,0 +1,38 @@
+package gdinternshipspringapp.configuration;
+
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogicFactory;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps data sources into a proxy which reports every executed statement to the query listener beans,
+ * a result set proxy is added when some bean wants to see the rows read
+ */
+public class DataSourceProxyBeanPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<QueryExecutionListener> queryListeners;
+
+    private final ObjectProvider<ResultSetProxyLogicFactory> resultSetProxyLogicFactory;
+
+    public DataSourceProxyBeanPostProcessor(ObjectProvider<QueryExecutionListener> queryListeners,
+                                            ObjectProvider<ResultSetProxyLogicFactory> resultSetProxyLogicFactory) {
+        this.queryListeners = queryListeners;
+        this.resultSetProxyLogicFactory = resultSetProxyLogicFactory;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource) || bean instanceof ProxyDataSource) {
+            return bean;
+        }
+        ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(beanName, (DataSource) bean);
+        queryListeners.orderedStream().forEach(builder::listener);
+        resultSetProxyLogicFactory.ifAvailable(builder::proxyResultSet);
+        return builder.build();
+    }
+}
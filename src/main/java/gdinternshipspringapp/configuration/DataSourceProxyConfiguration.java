@@ -0,0 +1,21 @@
+package gdinternshipspringapp.configuration;
+
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogicFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class DataSourceProxyConfiguration {
+
+    /**
+     * Static, so that the post processor is registered before the data source is created
+     */
+    @Bean
+    public static DataSourceProxyBeanPostProcessor dataSourceProxyBeanPostProcessor(
+            ObjectProvider<QueryExecutionListener> queryListeners,
+            ObjectProvider<ResultSetProxyLogicFactory> resultSetProxyLogicFactory) {
+        return new DataSourceProxyBeanPostProcessor(queryListeners, resultSetProxyLogicFactory);
+    }
+}
@@ -0,0 +1,25 @@
+package gdinternshipspringapp.configuration;
+
+import gdinternshipspringapp.monitoring.LazyLoadDetector;
+import gdinternshipspringapp.monitoring.RequestPhaseTracker;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Detects lazy loads when users.lazy-load.mode isn't off, the detector gets
+ * executed statements as a query listener of the data source proxy
+ */
+@Configuration
+@ConditionalOnExpression("!'${users.lazy-load.mode:off}'.equalsIgnoreCase('off')")
+@Import(RequestPhaseConfiguration.class)
+public class LazyLoadDetectionConfiguration {
+
+    @Bean
+    public LazyLoadDetector lazyLoadDetector(RequestPhaseTracker tracker, UserProperties properties) {
+        LazyLoadDetector detector = new LazyLoadDetector(tracker, properties);
+        tracker.onCompletion(detector::requestCompleted);
+        return detector;
+    }
+}
@@ -0,0 +1,15 @@
+package gdinternshipspringapp.configuration;
+
+import gdinternshipspringapp.monitoring.OperationTimingAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OperationMetricsConfiguration {
+
+    @Bean
+    public OperationTimingAspect operationTimingAspect(MeterRegistry registry) {
+        return new OperationTimingAspect(registry);
+    }
+}
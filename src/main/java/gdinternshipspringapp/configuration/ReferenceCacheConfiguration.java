@@ -0,0 +1,56 @@
+package gdinternshipspringapp.configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import gdinternshipspringapp.model.entity.Forum;
+import gdinternshipspringapp.model.entity.Section;
+import gdinternshipspringapp.model.entity.Tag;
+import gdinternshipspringapp.model.entity.Topic;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Second-level cache regions of reference data: sections, forums, tags and the collections between them.
+ * Regions are created up front from {@link UserProperties.ReferenceCache}, so Hibernate never falls back
+ * to an unbounded default region.
+ */
+@Configuration
+public class ReferenceCacheConfiguration {
+
+    public static final List<String> REGIONS = Arrays.asList(
+            Section.class.getName(),
+            Section.class.getName() + ".forums",
+            Forum.class.getName(),
+            Tag.class.getName(),
+            Topic.class.getName() + ".tags");
+
+    @Bean(destroyMethod = "close")
+    public CacheManager referenceCacheManager(UserProperties properties) {
+        UserProperties.ReferenceCache settings = properties.getReferenceCache();
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("reference-cache"), getClass().getClassLoader());
+        for (String region : REGIONS) {
+            if (cacheManager.getCache(region) == null) {
+                CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+                configuration.setMaximumSize(OptionalLong.of(settings.getMaxSize()));
+                configuration.setExpireAfterWrite(OptionalLong.of(settings.getTimeToLive().toNanos()));
+                cacheManager.createCache(region, configuration);
+            }
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer referenceCacheCustomizer(CacheManager referenceCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, referenceCacheManager);
+    }
+}
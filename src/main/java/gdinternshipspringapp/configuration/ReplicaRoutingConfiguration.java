@@ -0,0 +1,75 @@
+package gdinternshipspringapp.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the single data source with a routing one when replicas are configured.
+ * Replicas share the driver and the pool settings of the primary database.
+ * Transactions are ordered around the caching advice, so a result is cached while it is still known
+ * whether its transaction read from a replica. Connections are opened lazily, so a cache hit doesn't take one.
+ */
+@Configuration
+@ConditionalOnProperty("users.routing.replicas[0].url")
+@EnableTransactionManagement(proxyTargetClass = true, order = Ordered.LOWEST_PRECEDENCE - 1)
+public class ReplicaRoutingConfiguration implements DisposableBean {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, UserProperties userProperties, Environment environment,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        UserProperties.Routing settings = userProperties.getRouting();
+        HikariDataSource primary = pool("primary", properties.determineUrl(), properties.determineUsername(),
+                properties.determinePassword(), properties, environment);
+        List<DataSource> replicas = new ArrayList<>();
+        for (UserProperties.Routing.Replica replica : settings.getReplicas()) {
+            replicas.add(pool("replica-" + replicas.size(), replica.getUrl(), replica.getUsername(),
+                    replica.getPassword(), properties, environment));
+        }
+        // the pools aren't beans, so they don't get the metrics of pools that are
+        meterRegistry.ifAvailable(registry -> pools.forEach(pool ->
+                pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry))));
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas, settings);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    private HikariDataSource pool(String name, String url, String username, String password,
+                                  DataSourceProperties properties, Environment environment) {
+        HikariDataSource pool = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pools.add(pool);
+        return pool;
+    }
+}
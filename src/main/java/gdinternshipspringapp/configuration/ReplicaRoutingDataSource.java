@@ -0,0 +1,163 @@
+package gdinternshipspringapp.configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to replicas and everything else to the primary database.
+ * The routing key is taken when a connection is opened, so this data source has to sit behind
+ * a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which opens it
+ * on the first statement, after the transaction has been marked read-only.
+ * A user who committed a write within the read-your-writes window reads from the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private static final String REPLICA = "replica-";
+
+    private final List<CountingDataSource> replicas = new ArrayList<>();
+
+    private final UserProperties.Routing.Strategy strategy;
+
+    private final Cache<String, Boolean> recentWriters;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, UserProperties.Routing settings) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (DataSource replica : replicas) {
+            CountingDataSource counting = new CountingDataSource(replica);
+            targets.put(REPLICA + this.replicas.size(), counting);
+            this.replicas.add(counting);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        this.strategy = settings.getStrategy();
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxWriters())
+                .expireAfterWrite(settings.getReadYourWritesWindow())
+                .build();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String writer = currentWriter();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (writer != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recentWriters.put(writer, Boolean.TRUE);
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+        if (replicas.isEmpty() || writer != null && recentWriters.getIfPresent(writer) != null) {
+            return PRIMARY;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new ReplicaRead());
+        }
+        return REPLICA + selectReplica();
+    }
+
+    /**
+     * Whether the current transaction reads from a replica, so what it read may lag behind the primary database
+     * and must not be cached where readers of the primary one would find it
+     */
+    public static boolean isCurrentTransactionOnReplica() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.getSynchronizations().stream().anyMatch(ReplicaRead.class::isInstance);
+    }
+
+    private int selectReplica() {
+        if (strategy == UserProperties.Routing.Strategy.LEAST_CONNECTIONS) {
+            int selected = 0;
+            for (int i = 1; i < replicas.size(); i++) {
+                if (replicas.get(i).openConnections.get() < replicas.get(selected).openConnections.get()) {
+                    selected = i;
+                }
+            }
+            return selected;
+        }
+        return Math.floorMod(next.getAndIncrement(), replicas.size());
+    }
+
+    /**
+     * Anonymous requests can't be told apart, they always read from the replicas
+     */
+    private static String currentWriter() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    /**
+     * Marks a transaction routed to a replica, it is suspended and resumed together with the transaction
+     */
+    private static final class ReplicaRead implements TransactionSynchronization {
+    }
+
+    /**
+     * Counts connections taken from a replica and not closed yet
+     */
+    private static final class CountingDataSource extends DelegatingDataSource {
+
+        private final AtomicInteger openConnections = new AtomicInteger();
+
+        private CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return count(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return count(super.getConnection(username, password));
+        }
+
+        private Connection count(Connection connection) {
+            openConnections.incrementAndGet();
+            AtomicBoolean closed = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("close") && closed.compareAndSet(false, true)) {
+                            openConnections.decrementAndGet();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package gdinternshipspringapp.configuration;
+
+import gdinternshipspringapp.monitoring.RequestPhaseAspect;
+import gdinternshipspringapp.monitoring.RequestPhaseTracker;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Tracks phases of requests for lazy-load detection and Server-Timing, when either of them is on
+ */
+@Configuration
+@ConditionalOnExpression(RequestPhaseConfiguration.ENABLED)
+public class RequestPhaseConfiguration implements WebMvcConfigurer {
+
+    public static final String ENABLED = "!'${users.lazy-load.mode:off}'.equalsIgnoreCase('off')"
+            + " || '${users.server-timing.enabled:true}'.equalsIgnoreCase('true')";
+
+    private final RequestPhaseTracker tracker = new RequestPhaseTracker();
+
+    @Bean
+    public RequestPhaseTracker requestPhaseTracker() {
+        return tracker;
+    }
+
+    @Bean
+    public RequestPhaseAspect requestPhaseAspect() {
+        return new RequestPhaseAspect(tracker);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(tracker);
+    }
+}
@@ -46,6 +46,7 @@ class SecurityConfig extends KeycloakWebSecurityConfigurerAdapter {
         super.configure(http);
         http.authorizeRequests()
                 .antMatchers("/users/**").hasRole("user")
+                .antMatchers("/admin/**").hasRole("admin")
                 .anyRequest().permitAll();
     }
 }
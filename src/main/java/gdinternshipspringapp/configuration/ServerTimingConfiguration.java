@@ -0,0 +1,31 @@
+package gdinternshipspringapp.configuration;
+
+import gdinternshipspringapp.monitoring.RequestPhaseTracker;
+import gdinternshipspringapp.monitoring.ServerTimingFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.Ordered;
+
+/**
+ * Times requests by phase unless users.server-timing.enabled is false
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "users.server-timing", name = "enabled", matchIfMissing = true)
+@Import(RequestPhaseConfiguration.class)
+public class ServerTimingConfiguration {
+
+    /**
+     * Runs first, so that the time of the security filters is counted
+     */
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(RequestPhaseTracker tracker,
+                                                                         UserProperties properties) {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(
+                new ServerTimingFilter(tracker, properties.getServerTiming().getLogSampleRate()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,46 @@
+package gdinternshipspringapp.configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import gdinternshipspringapp.cache.UserDtoCache;
+import gdinternshipspringapp.cache.UserDtoWeigher;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Collections;
+
+/**
+ * Cache of {@link gdinternshipspringapp.model.dto.UserDto} by id in front of findUserById.
+ * It is transaction aware, so evictions and puts are applied after commit. A read that started before
+ * an update can still put the old state after the update evicted it, entries expire to bound how long
+ * such a state is served.
+ */
+@Configuration
+@EnableCaching
+public class UserCacheConfiguration {
+
+    public static final String USER_CACHE = "users";
+
+    /**
+     * Condition of results that aren't cached: a replica may not have the latest write yet, and a cached stale user
+     * would be served to the writer too, who reads from the primary database to see their own writes
+     */
+    public static final String UNLESS_READ_FROM_REPLICA =
+            "T(gdinternshipspringapp.configuration.ReplicaRoutingDataSource).isCurrentTransactionOnReplica()";
+
+    @Bean
+    public CacheManager cacheManager(UserProperties properties) {
+        Caffeine<Object, Object> caffeine = Caffeine.newBuilder()
+                .maximumWeight(properties.getDtoCache().getMaxSize().toBytes())
+                .weigher(new UserDtoWeigher())
+                .expireAfterWrite(properties.getDtoCache().getTimeToLive())
+                .recordStats();
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(Collections.singletonList(
+                new TransactionAwareCacheDecorator(new UserDtoCache(USER_CACHE, caffeine.build()))));
+        return cacheManager;
+    }
+}
@@ -0,0 +1,485 @@
+package gdinternshipspringapp.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "users")
+public class UserProperties {
+
+    private final Page page = new Page();
+
+    private final Stream stream = new Stream();
+
+    private final Import imports = new Import();
+
+    private final Fetch fetch = new Fetch();
+
+    private final ReferenceCache referenceCache = new ReferenceCache();
+
+    private final DtoCache dtoCache = new DtoCache();
+
+    private final Patch patch = new Patch();
+
+    private final Directory directory = new Directory();
+
+    private final Sql sql = new Sql();
+
+    private final Routing routing = new Routing();
+
+    private final LazyLoad lazyLoad = new LazyLoad();
+
+    private final ServerTiming serverTiming = new ServerTiming();
+
+    public Page getPage() {
+        return page;
+    }
+
+    public Stream getStream() {
+        return stream;
+    }
+
+    public Import getImport() {
+        return imports;
+    }
+
+    public Fetch getFetch() {
+        return fetch;
+    }
+
+    public ReferenceCache getReferenceCache() {
+        return referenceCache;
+    }
+
+    public DtoCache getDtoCache() {
+        return dtoCache;
+    }
+
+    public Patch getPatch() {
+        return patch;
+    }
+
+    public Directory getDirectory() {
+        return directory;
+    }
+
+    public Sql getSql() {
+        return sql;
+    }
+
+    public Routing getRouting() {
+        return routing;
+    }
+
+    public LazyLoad getLazyLoad() {
+        return lazyLoad;
+    }
+
+    public ServerTiming getServerTiming() {
+        return serverTiming;
+    }
+
+    public static class Page {
+
+        private int defaultSize = 20;
+
+        private int maxSize = 100;
+
+        /**
+         * Whether the approximate total is read from InnoDB statistics, which only MySQL has,
+         * instead of counting the users
+         */
+        private boolean estimateTotal = false;
+
+        public int getDefaultSize() {
+            return defaultSize;
+        }
+
+        public void setDefaultSize(int defaultSize) {
+            this.defaultSize = defaultSize;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public boolean isEstimateTotal() {
+            return estimateTotal;
+        }
+
+        public void setEstimateTotal(boolean estimateTotal) {
+            this.estimateTotal = estimateTotal;
+        }
+    }
+
+    public static class Stream {
+
+        /**
+         * Number of streamed users after which the persistence context is cleared, 0 or less never clears it
+         */
+        private int clearInterval = 100;
+
+        public int getClearInterval() {
+            return clearInterval;
+        }
+
+        public void setClearInterval(int clearInterval) {
+            this.clearInterval = clearInterval;
+        }
+    }
+
+    public static class Import {
+
+        /**
+         * Number of users persisted in one transaction
+         */
+        private int chunkSize = 500;
+
+        /**
+         * Number of users after which the persistence context is flushed and cleared inside a chunk,
+         * 0 flushes only at the end of the chunk
+         */
+        private int flushInterval = 50;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(int flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+    }
+
+    public static class Fetch {
+
+        /**
+         * Maximum number of user ids in one IN list when collections of a user list are fetched
+         */
+        private int inSize = 500;
+
+        public int getInSize() {
+            return inSize;
+        }
+
+        public void setInSize(int inSize) {
+            this.inSize = inSize;
+        }
+    }
+
+    public static class ReferenceCache {
+
+        /**
+         * Maximum number of entries in each second-level cache region of sections, forums and tags
+         */
+        private long maxSize = 10000;
+
+        /**
+         * Time after which a cached entry is dropped even if it wasn't changed
+         */
+        private Duration timeToLive = Duration.ofMinutes(30);
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+
+    public static class DtoCache {
+
+        /**
+         * Upper bound of the estimated memory taken by cached users
+         */
+        private DataSize maxSize = DataSize.ofMegabytes(64);
+
+        /**
+         * Time after which a cached user is dropped, it bounds how long a read that raced with an update
+         * can serve the state from before the update
+         */
+        private Duration timeToLive = Duration.ofMinutes(5);
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+
+    public static class Patch {
+
+        /**
+         * Number of attempts of a patch without If-Match that loses the optimistic lock to a concurrent update
+         */
+        private int maxAttempts = 3;
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+    }
+
+    public static class Directory {
+
+        /**
+         * Maximum number of natural keys of reference data kept with their ids in memory
+         */
+        private long maxSize = 10000;
+
+        /**
+         * Number of attempts to insert missing reference data when concurrent creators insert the same key
+         */
+        private int maxAttempts = 3;
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+    }
+
+    public static class Sql {
+
+        /**
+         * Statements running longer are logged with their parameters
+         */
+        private Duration slowThreshold = Duration.ofMillis(200);
+
+        /**
+         * Share of slow statements which are logged, from 0 to 1
+         */
+        private double slowSampleRate = 0.1;
+
+        /**
+         * Maximum number of distinct statements with their own statistics, the rest is counted together
+         */
+        private int maxStatements = 1000;
+
+        /**
+         * Default number of statements in the list of the slowest ones
+         */
+        private int topSize = 20;
+
+        public Duration getSlowThreshold() {
+            return slowThreshold;
+        }
+
+        public void setSlowThreshold(Duration slowThreshold) {
+            this.slowThreshold = slowThreshold;
+        }
+
+        public double getSlowSampleRate() {
+            return slowSampleRate;
+        }
+
+        public void setSlowSampleRate(double slowSampleRate) {
+            this.slowSampleRate = slowSampleRate;
+        }
+
+        public int getMaxStatements() {
+            return maxStatements;
+        }
+
+        public void setMaxStatements(int maxStatements) {
+            this.maxStatements = maxStatements;
+        }
+
+        public int getTopSize() {
+            return topSize;
+        }
+
+        public void setTopSize(int topSize) {
+            this.topSize = topSize;
+        }
+    }
+
+    public static class Routing {
+
+        /**
+         * Databases serving read-only transactions, all of them go to the primary one when empty
+         */
+        private List<Replica> replicas = new ArrayList<>();
+
+        /**
+         * How a replica is chosen for a read-only transaction
+         */
+        private Strategy strategy = Strategy.ROUND_ROBIN;
+
+        /**
+         * Reads of a user who committed a write within this time go to the primary database,
+         * so that they see the write before it reaches the replicas
+         */
+        private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+        /**
+         * Maximum number of users whose last write is remembered
+         */
+        private long maxWriters = 10000;
+
+        public List<Replica> getReplicas() {
+            return replicas;
+        }
+
+        public void setReplicas(List<Replica> replicas) {
+            this.replicas = replicas;
+        }
+
+        public Strategy getStrategy() {
+            return strategy;
+        }
+
+        public void setStrategy(Strategy strategy) {
+            this.strategy = strategy;
+        }
+
+        public Duration getReadYourWritesWindow() {
+            return readYourWritesWindow;
+        }
+
+        public void setReadYourWritesWindow(Duration readYourWritesWindow) {
+            this.readYourWritesWindow = readYourWritesWindow;
+        }
+
+        public long getMaxWriters() {
+            return maxWriters;
+        }
+
+        public void setMaxWriters(long maxWriters) {
+            this.maxWriters = maxWriters;
+        }
+
+        public enum Strategy {
+            ROUND_ROBIN, LEAST_CONNECTIONS
+        }
+
+        public static class Replica {
+
+            private String url;
+
+            private String username;
+
+            private String password;
+
+            public String getUrl() {
+                return url;
+            }
+
+            public void setUrl(String url) {
+                this.url = url;
+            }
+
+            public String getUsername() {
+                return username;
+            }
+
+            public void setUsername(String username) {
+                this.username = username;
+            }
+
+            public String getPassword() {
+                return password;
+            }
+
+            public void setPassword(String password) {
+                this.password = password;
+            }
+        }
+    }
+
+    public static class LazyLoad {
+
+        /**
+         * What happens to statements a request executes outside the service layer,
+         * statements of requests are counted by phase only when it isn't off
+         */
+        private Mode mode = Mode.OFF;
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        public void setMode(Mode mode) {
+            this.mode = mode;
+        }
+
+        public enum Mode {
+            OFF, WARN, FAIL
+        }
+    }
+
+    public static class ServerTiming {
+
+        /**
+         * Whether time spent by requests in each phase is measured and sent in the Server-Timing header
+         */
+        private boolean enabled = true;
+
+        /**
+         * Share of requests whose timings are also logged, from 0 to 1
+         */
+        private double logSampleRate = 0.01;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getLogSampleRate() {
+            return logSampleRate;
+        }
+
+        public void setLogSampleRate(double logSampleRate) {
+            this.logSampleRate = logSampleRate;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package gdinternshipspringapp.controller;
+
+import gdinternshipspringapp.model.dto.CacheStatsDto;
+import gdinternshipspringapp.model.dto.SqlStatementStatsDto;
+import gdinternshipspringapp.model.dto.UserCacheStatsDto;
+import gdinternshipspringapp.service.CacheStatisticsService;
+import gdinternshipspringapp.service.SqlStatisticsService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+public class AdminController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    private final SqlStatisticsService sqlStatisticsService;
+
+    public AdminController(CacheStatisticsService cacheStatisticsService, SqlStatisticsService sqlStatisticsService) {
+        this.cacheStatisticsService = cacheStatisticsService;
+        this.sqlStatisticsService = sqlStatisticsService;
+    }
+
+    @GetMapping("/admin/cache/reference")
+    @ResponseStatus(HttpStatus.OK)
+    public List<CacheStatsDto> getReferenceCacheStatistics() {
+        return cacheStatisticsService.findReferenceCacheStatistics();
+    }
+
+    @GetMapping("/admin/cache/users")
+    @ResponseStatus(HttpStatus.OK)
+    public UserCacheStatsDto getUserCacheStatistics() {
+        return cacheStatisticsService.findUserCacheStatistics();
+    }
+
+    @GetMapping("/admin/sql/slowest")
+    @ResponseStatus(HttpStatus.OK)
+    public List<SqlStatementStatsDto> getSlowestStatements(@RequestParam(required = false) Integer limit) {
+        return sqlStatisticsService.findSlowestStatements(limit);
+    }
+}
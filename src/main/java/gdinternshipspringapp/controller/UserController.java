@@ -1,37 +1,119 @@
 package gdinternshipspringapp.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import gdinternshipspringapp.exception.ServiceException;
+import gdinternshipspringapp.model.dto.PageDto;
 import gdinternshipspringapp.model.dto.UserDto;
+import gdinternshipspringapp.model.dto.UserImportSummaryDto;
+import gdinternshipspringapp.model.dto.UserPatchDto;
+import gdinternshipspringapp.model.projection.UserSummary;
+import gdinternshipspringapp.service.UserImportService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import gdinternshipspringapp.service.UserService;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+import static gdinternshipspringapp.exception.errorCode.UserServiceErrorCode.VERSION_MISMATCH;
 
 @RestController
 public class UserController {
 
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private static final String PREFER = "Prefer";
+
+    private static final String PREFERENCE_APPLIED = "Preference-Applied";
+
+    private static final String RETURN_MINIMAL = "return=minimal";
+
     private final UserService service;
 
-    public UserController(UserService service) {
+    private final UserImportService importService;
+
+    private final ObjectMapper objectMapper;
+
+    public UserController(UserService service, UserImportService importService, ObjectMapper objectMapper) {
         this.service = service;
+        this.importService = importService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/users")
     @ResponseStatus(HttpStatus.OK)
-    public List<UserDto> getAllUsers() {
-        return service.findAll();
+    public PageDto<UserDto> getAllUsers(@RequestParam(required = false) String token,
+                                        @RequestParam(required = false) Integer size,
+                                        @RequestParam(defaultValue = "false") boolean total) {
+        return service.findPage(token, size, total);
     }
 
-    @GetMapping("/users/{id}")
+    @GetMapping("/users/summary")
     @ResponseStatus(HttpStatus.OK)
-    public UserDto getUserDto(@PathVariable Long id) {
-        return service.findUserById(id);
+    public PageDto<UserSummary> getUserSummaries(@RequestParam(required = false) String token,
+                                                 @RequestParam(required = false) Integer size) {
+        return service.findSummaryPage(token, size);
+    }
+
+    @GetMapping(value = "/users/stream", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUsers() {
+        ObjectWriter writer = objectMapper.writerFor(UserDto.class)
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                service.streamAll(user -> writeLine(writer, generator, user));
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
+    @GetMapping("/users/{id}")
+    public ResponseEntity<UserDto> getUserDto(@PathVariable Long id, WebRequest request) {
+        // a conditional request is answered from the version alone, the graph is loaded only when it changed
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(toETag(service.findVersionById(id)))) {
+            return null;
+        }
+        UserDto user = service.findUserById(id);
+        return ResponseEntity.ok().eTag(toETag(user.getVersion())).body(user);
     }
 
     @PutMapping("/users/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public UserDto updateUser(@PathVariable Long id, @RequestBody UserDto user) {
-        return service.updateUser(id, user);
+    public ResponseEntity<UserDto> updateUser(@PathVariable Long id, @RequestBody UserDto user,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                      String ifMatch) {
+        UserDto updatedUser = service.updateUser(id, user, toVersion(ifMatch));
+        return ResponseEntity.ok().eTag(toETag(updatedUser.getVersion())).body(updatedUser);
+    }
+
+    @PatchMapping(value = "/users/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<UserDto> patchUser(@PathVariable Long id, @RequestBody UserPatchDto patch,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                     String ifMatch,
+                                             @RequestHeader(value = PREFER, required = false) String prefer) {
+        Long version = service.patchUser(id, patch, toVersion(ifMatch));
+        if (prefer != null && prefer.contains(RETURN_MINIMAL)) {
+            return ResponseEntity.noContent()
+                    .eTag(toETag(version))
+                    .header(PREFERENCE_APPLIED, RETURN_MINIMAL)
+                    .build();
+        }
+        UserDto user = service.findUserById(id);
+        return ResponseEntity.ok().eTag(toETag(user.getVersion())).body(user);
     }
 
     @PostMapping("/")
@@ -40,10 +122,52 @@ public class UserController {
         return service.createUser(user);
     }
 
+    @PostMapping(value = "/users/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    @ResponseStatus(HttpStatus.OK)
+    public UserImportSummaryDto importUsers(InputStream body) throws IOException {
+        // a json array and a sequence of root values are both read one user at a time
+        try (MappingIterator<UserDto> users = objectMapper.readerFor(UserDto.class).readValues(body)) {
+            return importService.importUsers(users);
+        }
+    }
+
     @DeleteMapping("/users/{id}")
     @ResponseStatus(HttpStatus.OK)
     public void DeleteUser(@PathVariable Long id) {
         service.deleteUserById(id);
     }
 
+    private static void writeLine(ObjectWriter writer, JsonGenerator generator, UserDto user) {
+        try {
+            writer.writeValue(generator, user);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String toETag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Version expected by If-Match, null when any version is accepted
+     *
+     * @param ifMatch value of the If-Match header
+     * @return expected version
+     */
+    private static Long toVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String eTag = ifMatch.trim();
+        if (eTag.startsWith("W/")) {
+            eTag = eTag.substring(2);
+        }
+        try {
+            return Long.valueOf(eTag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new ServiceException(e, VERSION_MISMATCH);
+        }
+    }
 }
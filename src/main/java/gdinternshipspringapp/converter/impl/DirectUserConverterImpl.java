@@ -0,0 +1,203 @@
+package gdinternshipspringapp.converter.impl;
+
+import gdinternshipspringapp.converter.UserConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import gdinternshipspringapp.model.dto.*;
+import gdinternshipspringapp.model.entity.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Hand written mapping, produces the same dto as {@link UserConverterImpl} without reflection.
+ * Missing collections of a dto become empty collections of an entity, so a sparse dto can be saved.
+ */
+@Component
+@ConditionalOnProperty(name = "users.converter", havingValue = "direct", matchIfMissing = true)
+public class DirectUserConverterImpl implements UserConverter {
+
+    @Override
+    public UserDto toUserDto(User user) {
+        UserDto userDto = new UserDto();
+        userDto.setId(user.getId());
+        userDto.setName(user.getName());
+        userDto.setEmail(user.getEmail());
+        userDto.setLogin(user.getLogin());
+        userDto.setPassword(user.getPassword());
+        userDto.setRole(user.getRole());
+        userDto.setVersion(user.getVersion());
+        userDto.setTopics(toDtoSet(user.getTopics(), this::toTopicDto));
+        userDto.setPosts(toDtoSet(user.getPosts(), this::toPostDto));
+        userDto.setComments(toDtoSet(user.getComments(), this::toCommentDto));
+        return userDto;
+    }
+
+    @Override
+    public List<UserDto> toUserDtos(List<User> users) {
+        List<UserDto> userDtos = new ArrayList<>(users.size());
+        for (User user : users) {
+            userDtos.add(toUserDto(user));
+        }
+        return userDtos;
+    }
+
+    @Override
+    public User toUser(UserDto userDto) {
+        User user = new User();
+        user.setId(userDto.getId());
+        user.setName(userDto.getName());
+        user.setEmail(userDto.getEmail());
+        user.setLogin(userDto.getLogin());
+        user.setPassword(userDto.getPassword());
+        user.setRole(userDto.getRole());
+        addAll(user.getTopics(), userDto.getTopics(), this::toTopic);
+        addAll(user.getPosts(), userDto.getPosts(), this::toPost);
+        addAll(user.getComments(), userDto.getComments(), this::toComment);
+        return UserGraphLinker.link(user);
+    }
+
+    @Override
+    public List<User> toUsers(List<UserDto> userDtos) {
+        List<User> users = new ArrayList<>(userDtos.size());
+        for (UserDto userDto : userDtos) {
+            users.add(toUser(userDto));
+        }
+        return users;
+    }
+
+    private TopicDto toTopicDto(Topic topic) {
+        TopicDto topicDto = new TopicDto();
+        topicDto.setId(topic.getId());
+        topicDto.setName(topic.getName());
+        topicDto.setMessage(topic.getMessage());
+        topicDto.setForum(topic.getForum() == null ? null : toForumDto(topic.getForum()));
+        topicDto.setTags(toDtoSet(topic.getTags(), this::toTagDto));
+        return topicDto;
+    }
+
+    private ForumDto toForumDto(Forum forum) {
+        ForumDto forumDto = new ForumDto();
+        forumDto.setId(forum.getId());
+        forumDto.setName(forum.getName());
+        forumDto.setSection(forum.getSection() == null ? null : toSectionDto(forum.getSection()));
+        return forumDto;
+    }
+
+    private SectionDto toSectionDto(Section section) {
+        SectionDto sectionDto = new SectionDto();
+        sectionDto.setId(section.getId());
+        sectionDto.setName(section.getName());
+        return sectionDto;
+    }
+
+    private TagDto toTagDto(Tag tag) {
+        TagDto tagDto = new TagDto();
+        tagDto.setId(tag.getId());
+        tagDto.setName(tag.getName());
+        return tagDto;
+    }
+
+    private PostDto toPostDto(Post post) {
+        PostDto postDto = new PostDto();
+        postDto.setId(post.getId());
+        postDto.setMessage(post.getMessage());
+        postDto.setDate(post.getDate());
+        postDto.setPics(toDtoSet(post.getPics(), this::toPicDto));
+        return postDto;
+    }
+
+    private PicDto toPicDto(Pic pic) {
+        PicDto picDto = new PicDto();
+        picDto.setId(pic.getId());
+        picDto.setCaption(pic.getCaption());
+        picDto.setImageLink(pic.getImageLink());
+        return picDto;
+    }
+
+    private CommentDto toCommentDto(Comment comment) {
+        CommentDto commentDto = new CommentDto();
+        commentDto.setId(comment.getId());
+        commentDto.setName(comment.getName());
+        return commentDto;
+    }
+
+    private Topic toTopic(TopicDto topicDto) {
+        Topic topic = new Topic();
+        topic.setId(topicDto.getId());
+        topic.setName(topicDto.getName());
+        topic.setMessage(topicDto.getMessage());
+        topic.setForum(topicDto.getForum() == null ? null : toForum(topicDto.getForum()));
+        addAll(topic.getTags(), topicDto.getTags(), this::toTag);
+        return topic;
+    }
+
+    private Forum toForum(ForumDto forumDto) {
+        Forum forum = new Forum();
+        forum.setId(forumDto.getId());
+        forum.setName(forumDto.getName());
+        forum.setSection(forumDto.getSection() == null ? null : toSection(forumDto.getSection()));
+        return forum;
+    }
+
+    private Section toSection(SectionDto sectionDto) {
+        Section section = new Section();
+        section.setId(sectionDto.getId());
+        section.setName(sectionDto.getName());
+        return section;
+    }
+
+    private Tag toTag(TagDto tagDto) {
+        Tag tag = new Tag();
+        tag.setId(tagDto.getId());
+        tag.setName(tagDto.getName());
+        return tag;
+    }
+
+    private Post toPost(PostDto postDto) {
+        Post post = new Post();
+        post.setId(postDto.getId());
+        post.setMessage(postDto.getMessage());
+        post.setDate(postDto.getDate());
+        addAll(post.getPics(), postDto.getPics(), this::toPic);
+        return post;
+    }
+
+    private Pic toPic(PicDto picDto) {
+        Pic pic = new Pic();
+        pic.setId(picDto.getId());
+        pic.setCaption(picDto.getCaption());
+        pic.setImageLink(picDto.getImageLink());
+        return pic;
+    }
+
+    private Comment toComment(CommentDto commentDto) {
+        Comment comment = new Comment();
+        comment.setId(commentDto.getId());
+        comment.setName(commentDto.getName());
+        return comment;
+    }
+
+    private static <S, D> Set<D> toDtoSet(Set<S> source, Function<S, D> mapper) {
+        if (source == null) {
+            return null;
+        }
+        Set<D> target = new HashSet<>(Math.max(16, (int) (source.size() / .75f) + 1));
+        for (S item : source) {
+            target.add(mapper.apply(item));
+        }
+        return target;
+    }
+
+    private static <S, D> void addAll(Set<D> target, Set<S> source, Function<S, D> mapper) {
+        if (source == null) {
+            return;
+        }
+        for (S item : source) {
+            target.add(mapper.apply(item));
+        }
+    }
+}
@@ -2,15 +2,16 @@ package gdinternshipspringapp.converter.impl;
 
 import gdinternshipspringapp.converter.UserConverter;
 import org.modelmapper.ModelMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import gdinternshipspringapp.model.dto.*;
 import gdinternshipspringapp.model.entity.*;
 
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
+@ConditionalOnProperty(name = "users.converter", havingValue = "model-mapper")
 public class UserConverterImpl implements UserConverter {
 
     private final ModelMapper modelMapper;
@@ -34,29 +35,9 @@ public class UserConverterImpl implements UserConverter {
     @Override
     public User toUser(UserDto userDto) {
         User user = modelMapper.map(userDto, User.class);
-        Set<Comment> comments = user.getComments();
-        comments.forEach(comment -> comment.setUser(user));
-        Set<Post> posts = user.getPosts();
-        posts.forEach(post -> {
-            post.setUser(user);
-            post.getComments().addAll(comments);
-            post.getPics().forEach(pic -> pic.setPost(post));
-        });
-        Set<Topic> topics = user.getTopics();
-        topics.forEach(topic -> {
-            topic.getTags().forEach(tag -> tag.getTopics().add(topic));
-            topic.setUser(user);
-            topic.getPosts().addAll(posts);
-            posts.forEach(post -> {
-                post.setTopic(topic);
-                comments.forEach(comment -> comment.setPost(post));
-            });
-            Forum forum = topic.getForum();
-            forum.getTopics().add(topic);
-            Section section = forum.getSection();
-            section.getForums().add(forum);
-        });
-        return user;
+        // the version is owned by the database, a client can only check it through If-Match
+        user.setVersion(null);
+        return UserGraphLinker.link(user);
     }
 
     @Override
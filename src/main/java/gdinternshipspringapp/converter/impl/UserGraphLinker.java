@@ -0,0 +1,58 @@
+package gdinternshipspringapp.converter.impl;
+
+import gdinternshipspringapp.model.entity.*;
+
+import java.util.Set;
+
+/**
+ * Wires back-references of a user graph built from a dto, dto doesn't carry them.
+ * A dto doesn't tell which topic a post belongs to or which post a comment answers,
+ * so all posts go to the last topic and all comments to the last post.
+ * Every entity is visited once, inverse collections hold only what the owning side points to.
+ * A topic may come without a forum, it then has no forum to be added to.
+ */
+final class UserGraphLinker {
+
+    private UserGraphLinker() {
+    }
+
+    static User link(User user) {
+        Topic lastTopic = null;
+        for (Topic topic : user.getTopics()) {
+            topic.setUser(user);
+            topic.getTags().forEach(tag -> tag.getTopics().add(topic));
+            Forum forum = topic.getForum();
+            if (forum != null) {
+                forum.getTopics().add(topic);
+                Section section = forum.getSection();
+                if (section != null) {
+                    section.getForums().add(forum);
+                }
+            }
+            lastTopic = topic;
+        }
+        Post lastPost = null;
+        for (Post post : user.getPosts()) {
+            post.setUser(user);
+            post.getPics().forEach(pic -> pic.setPost(post));
+            if (lastTopic != null) {
+                post.setTopic(lastTopic);
+                lastTopic.getPosts().add(post);
+            }
+            lastPost = post;
+        }
+        // comments were linked to posts only through topics, a user without topics keeps them unlinked
+        Post commentedPost = lastTopic == null ? null : lastPost;
+        Set<Comment> comments = user.getComments();
+        for (Comment comment : comments) {
+            comment.setUser(user);
+            if (commentedPost != null) {
+                comment.setPost(commentedPost);
+            }
+        }
+        if (commentedPost != null) {
+            commentedPost.getComments().addAll(comments);
+        }
+        return user;
+    }
+}
@@ -1,5 +1,6 @@
 package gdinternshipspringapp.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -9,6 +10,8 @@ import org.springframework.web.method.annotation.MethodArgumentTypeMismatchExcep
 
 import javax.servlet.ServletException;
 
+import static gdinternshipspringapp.exception.errorCode.UserServiceErrorCode.VERSION_MISMATCH;
+
 @ControllerAdvice
 public class ExceptionHandlerAdvice {
 
@@ -17,6 +20,11 @@ public class ExceptionHandlerAdvice {
         return ResponseEntity.status(exception.getErrorCode().getHttpStatus()).body(exception);
     }
 
+    @ExceptionHandler(value = OptimisticLockingFailureException.class)
+    public ResponseEntity<ServiceException> optimisticLockHandler(OptimisticLockingFailureException exception) {
+        return serviceExceptionHandler(new ServiceException(exception, VERSION_MISMATCH));
+    }
+
     @ExceptionHandler(value = Exception.class)
     public ResponseEntity<ServiceException> generalHandler(Exception exception) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -4,7 +4,13 @@ import org.springframework.http.HttpStatus;
 
 public enum UserServiceErrorCode implements ErrorCode{
 
-    USER_NOT_EXIST("User doesn't exist in database", HttpStatus.NOT_FOUND);
+    USER_NOT_EXIST("User doesn't exist in database", HttpStatus.NOT_FOUND),
+    INVALID_PAGE_TOKEN("Page token is malformed", HttpStatus.BAD_REQUEST),
+    VERSION_MISMATCH("User was changed by another request", HttpStatus.PRECONDITION_FAILED),
+    SECTION_NOT_EXIST("Section doesn't exist in database", HttpStatus.NOT_FOUND),
+    FORUM_NOT_EXIST("Forum doesn't exist in database", HttpStatus.NOT_FOUND),
+    IMPORT_INPUT_MALFORMED("Imported users can't be read", HttpStatus.BAD_REQUEST),
+    USER_NOT_CREATED("User can't be created", HttpStatus.UNPROCESSABLE_ENTITY);
 
     private final int number = ordinal() + 1;
 
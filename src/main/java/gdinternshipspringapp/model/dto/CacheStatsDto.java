@@ -0,0 +1,87 @@
+package gdinternshipspringapp.model.dto;
+
+import java.util.Objects;
+
+public class CacheStatsDto {
+
+    private String name;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private long putCount;
+
+    public CacheStatsDto() {
+    }
+
+    public CacheStatsDto(String name, long hitCount, long missCount, long putCount) {
+        this.name = name;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public void setHitCount(long hitCount) {
+        this.hitCount = hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public void setMissCount(long missCount) {
+        this.missCount = missCount;
+    }
+
+    public long getPutCount() {
+        return putCount;
+    }
+
+    public void setPutCount(long putCount) {
+        this.putCount = putCount;
+    }
+
+    public double getHitRatio() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0 : (double) hitCount / requests;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CacheStatsDto that = (CacheStatsDto) o;
+        return hitCount == that.hitCount &&
+                missCount == that.missCount &&
+                putCount == that.putCount &&
+                Objects.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, hitCount, missCount, putCount);
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatsDto{" +
+                "name='" + name + '\'' +
+                ", hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", putCount=" + putCount +
+                '}';
+    }
+}
@@ -0,0 +1,70 @@
+package gdinternshipspringapp.model.dto;
+
+import java.util.List;
+import java.util.Objects;
+
+public class PageDto<T> {
+
+    private List<T> content;
+
+    private String nextToken;
+
+    private Long approximateTotal;
+
+    public PageDto() {
+    }
+
+    public PageDto(List<T> content, String nextToken, Long approximateTotal) {
+        this.content = content;
+        this.nextToken = nextToken;
+        this.approximateTotal = approximateTotal;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    public void setNextToken(String nextToken) {
+        this.nextToken = nextToken;
+    }
+
+    public Long getApproximateTotal() {
+        return approximateTotal;
+    }
+
+    public void setApproximateTotal(Long approximateTotal) {
+        this.approximateTotal = approximateTotal;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PageDto<?> pageDto = (PageDto<?>) o;
+        return Objects.equals(content, pageDto.content) &&
+                Objects.equals(nextToken, pageDto.nextToken) &&
+                Objects.equals(approximateTotal, pageDto.approximateTotal);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(content, nextToken, approximateTotal);
+    }
+
+    @Override
+    public String toString() {
+        return "PageDto{" +
+                "content=" + content +
+                ", nextToken='" + nextToken + '\'' +
+                ", approximateTotal=" + approximateTotal +
+                '}';
+    }
+}
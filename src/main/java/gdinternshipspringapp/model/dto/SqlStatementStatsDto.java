@@ -0,0 +1,132 @@
+package gdinternshipspringapp.model.dto;
+
+import java.util.Objects;
+
+public class SqlStatementStatsDto {
+
+    private String sql;
+
+    private long count;
+
+    private long rowCount;
+
+    private double totalMillis;
+
+    private double meanMillis;
+
+    private double p50Millis;
+
+    private double p95Millis;
+
+    private double p99Millis;
+
+    private double maxMillis;
+
+    public String getSql() {
+        return sql;
+    }
+
+    public void setSql(String sql) {
+        this.sql = sql;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public void setRowCount(long rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    public double getTotalMillis() {
+        return totalMillis;
+    }
+
+    public void setTotalMillis(double totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+
+    public double getMeanMillis() {
+        return meanMillis;
+    }
+
+    public void setMeanMillis(double meanMillis) {
+        this.meanMillis = meanMillis;
+    }
+
+    public double getP50Millis() {
+        return p50Millis;
+    }
+
+    public void setP50Millis(double p50Millis) {
+        this.p50Millis = p50Millis;
+    }
+
+    public double getP95Millis() {
+        return p95Millis;
+    }
+
+    public void setP95Millis(double p95Millis) {
+        this.p95Millis = p95Millis;
+    }
+
+    public double getP99Millis() {
+        return p99Millis;
+    }
+
+    public void setP99Millis(double p99Millis) {
+        this.p99Millis = p99Millis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    public void setMaxMillis(double maxMillis) {
+        this.maxMillis = maxMillis;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SqlStatementStatsDto that = (SqlStatementStatsDto) o;
+        return Objects.equals(sql, that.sql) &&
+                count == that.count &&
+                rowCount == that.rowCount &&
+                Double.compare(that.totalMillis, totalMillis) == 0 &&
+                Double.compare(that.meanMillis, meanMillis) == 0 &&
+                Double.compare(that.p50Millis, p50Millis) == 0 &&
+                Double.compare(that.p95Millis, p95Millis) == 0 &&
+                Double.compare(that.p99Millis, p99Millis) == 0 &&
+                Double.compare(that.maxMillis, maxMillis) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sql, count, rowCount, totalMillis, meanMillis, p50Millis, p95Millis, p99Millis, maxMillis);
+    }
+
+    @Override
+    public String toString() {
+        return "SqlStatementStatsDto{" +
+                "sql='" + sql + '\'' +
+                ", count=" + count +
+                ", rowCount=" + rowCount +
+                ", totalMillis=" + totalMillis +
+                ", meanMillis=" + meanMillis +
+                ", p50Millis=" + p50Millis +
+                ", p95Millis=" + p95Millis +
+                ", p99Millis=" + p99Millis +
+                ", maxMillis=" + maxMillis +
+                '}';
+    }
+}
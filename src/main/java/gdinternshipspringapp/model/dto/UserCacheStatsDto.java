@@ -0,0 +1,108 @@
+package gdinternshipspringapp.model.dto;
+
+import java.util.Objects;
+
+public class UserCacheStatsDto {
+
+    private long hitCount;
+
+    private long missCount;
+
+    private double hitRatio;
+
+    private long evictionCount;
+
+    private long size;
+
+    private long estimatedBytes;
+
+    private long maxBytes;
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public void setHitCount(long hitCount) {
+        this.hitCount = hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public void setMissCount(long missCount) {
+        this.missCount = missCount;
+    }
+
+    public double getHitRatio() {
+        return hitRatio;
+    }
+
+    public void setHitRatio(double hitRatio) {
+        this.hitRatio = hitRatio;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public void setEvictionCount(long evictionCount) {
+        this.evictionCount = evictionCount;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    public void setEstimatedBytes(long estimatedBytes) {
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UserCacheStatsDto that = (UserCacheStatsDto) o;
+        return hitCount == that.hitCount &&
+                missCount == that.missCount &&
+                Double.compare(that.hitRatio, hitRatio) == 0 &&
+                evictionCount == that.evictionCount &&
+                size == that.size &&
+                estimatedBytes == that.estimatedBytes &&
+                maxBytes == that.maxBytes;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(hitCount, missCount, hitRatio, evictionCount, size, estimatedBytes, maxBytes);
+    }
+
+    @Override
+    public String toString() {
+        return "UserCacheStatsDto{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", hitRatio=" + hitRatio +
+                ", evictionCount=" + evictionCount +
+                ", size=" + size +
+                ", estimatedBytes=" + estimatedBytes +
+                ", maxBytes=" + maxBytes +
+                '}';
+    }
+}
@@ -1,5 +1,6 @@
 package gdinternshipspringapp.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import gdinternshipspringapp.model.entity.Role;
 
 import java.util.Objects;
@@ -24,6 +25,9 @@ public class UserDto {
 
     private Role role;
 
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     public Long getId() {
         return id;
     }
@@ -96,6 +100,14 @@ public class UserDto {
         this.comments = comments;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -109,12 +121,13 @@ public class UserDto {
                 Objects.equals(topics, userDto.topics) &&
                 Objects.equals(posts, userDto.posts) &&
                 Objects.equals(comments, userDto.comments) &&
-                role == userDto.role;
+                role == userDto.role &&
+                Objects.equals(version, userDto.version);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, name, email, login, password, topics, posts, comments, role);
+        return Objects.hash(id, name, email, login, password, topics, posts, comments, role, version);
     }
 
     @Override
@@ -129,6 +142,7 @@ public class UserDto {
                 ", posts=" + posts +
                 ", comments=" + comments +
                 ", role=" + role +
+                ", version=" + version +
                 '}';
     }
 }
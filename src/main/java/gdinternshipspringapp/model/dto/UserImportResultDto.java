@@ -0,0 +1,95 @@
+package gdinternshipspringapp.model.dto;
+
+import java.util.Objects;
+
+public class UserImportResultDto {
+
+    private int index;
+
+    private Long id;
+
+    private Status status;
+
+    private String error;
+
+    public UserImportResultDto() {
+    }
+
+    public UserImportResultDto(int index, Long id, Status status, String error) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.error = error;
+    }
+
+    public static UserImportResultDto created(int index, Long id) {
+        return new UserImportResultDto(index, id, Status.CREATED, null);
+    }
+
+    public static UserImportResultDto failed(int index, String error) {
+        return new UserImportResultDto(index, null, Status.FAILED, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UserImportResultDto that = (UserImportResultDto) o;
+        return index == that.index &&
+                Objects.equals(id, that.id) &&
+                status == that.status &&
+                Objects.equals(error, that.error);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(index, id, status, error);
+    }
+
+    @Override
+    public String toString() {
+        return "UserImportResultDto{" +
+                "index=" + index +
+                ", id=" + id +
+                ", status=" + status +
+                ", error='" + error + '\'' +
+                '}';
+    }
+
+    public enum Status {
+        CREATED,
+        FAILED
+    }
+}
@@ -0,0 +1,71 @@
+package gdinternshipspringapp.model.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public class UserImportSummaryDto {
+
+    private int created;
+
+    private int failed;
+
+    private List<UserImportResultDto> results = new ArrayList<>();
+
+    public void add(UserImportResultDto result) {
+        if (result.getStatus() == UserImportResultDto.Status.CREATED) {
+            created++;
+        } else {
+            failed++;
+        }
+        results.add(result);
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<UserImportResultDto> getResults() {
+        return results;
+    }
+
+    public void setResults(List<UserImportResultDto> results) {
+        this.results = results;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UserImportSummaryDto that = (UserImportSummaryDto) o;
+        return created == that.created &&
+                failed == that.failed &&
+                Objects.equals(results, that.results);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(created, failed, results);
+    }
+
+    @Override
+    public String toString() {
+        return "UserImportSummaryDto{" +
+                "created=" + created +
+                ", failed=" + failed +
+                ", results=" + results +
+                '}';
+    }
+}
@@ -0,0 +1,89 @@
+package gdinternshipspringapp.model.dto;
+
+import gdinternshipspringapp.model.entity.Role;
+
+import java.util.Objects;
+
+/**
+ * Fields of a user changed by PATCH, a null or missing field is left as it is.
+ * Sent as plain JSON, not as a merge patch, null doesn't remove a field
+ */
+public class UserPatchDto {
+
+    private String name;
+
+    private String email;
+
+    private String login;
+
+    private String password;
+
+    private Role role;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    public void setLogin(String login) {
+        this.login = login;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public void setRole(Role role) {
+        this.role = role;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UserPatchDto that = (UserPatchDto) o;
+        return Objects.equals(name, that.name) &&
+                Objects.equals(email, that.email) &&
+                Objects.equals(login, that.login) &&
+                Objects.equals(password, that.password) &&
+                role == that.role;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, email, login, password, role);
+    }
+
+    @Override
+    public String toString() {
+        return "UserPatchDto{" +
+                "name='" + name + '\'' +
+                ", email='" + email + '\'' +
+                ", login='" + login + '\'' +
+                ", role=" + role +
+                '}';
+    }
+}
@@ -1,22 +1,28 @@
 package gdinternshipspringapp.model.entity;
 
+import org.hibernate.Hibernate;
+
 import javax.persistence.*;
-import java.util.Objects;
+import java.util.UUID;
 
 @Entity
 public class Comment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comment_seq")
+    @SequenceGenerator(name = "comment_seq", sequenceName = "comment_seq", allocationSize = 50)
     private Long id;
 
+    @Column(nullable = false, updatable = false, length = 16)
+    private UUID uuid = UUID.randomUUID();
+
     private String name;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "post_id")
     private Post post;
 
@@ -28,6 +34,14 @@ public class Comment {
         this.id = id;
     }
 
+    public UUID getUuid() {
+        return uuid;
+    }
+
+    public void setUuid(UUID uuid) {
+        this.uuid = uuid;
+    }
+
     public String getName() {
         return name;
     }
@@ -63,14 +77,13 @@ public class Comment {
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
         Comment comment = (Comment) o;
-        return Objects.equals(id, comment.id) &&
-                Objects.equals(name, comment.name);
+        return uuid.equals(comment.getUuid());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, name);
+        return uuid.hashCode();
     }
 }
@@ -1,23 +1,39 @@
 package gdinternshipspringapp.model.entity;
 
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import java.util.HashSet;
-import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_forum_section_name", columnNames = {"section_key", "name"}))
 public class Forum {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "forum_seq")
+    @SequenceGenerator(name = "forum_seq", sequenceName = "forum_seq", allocationSize = 50)
     private Long id;
 
+    @Column(nullable = false, updatable = false, length = 16)
+    private UUID uuid = UUID.randomUUID();
+
     private String name;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "section_id")
     private Section section;
 
+    // id of the section or 0 without one, the unique constraint is on this column
+    // because forums with a null section_id never collide
+    @Column(name = "section_key", nullable = false)
+    private long sectionKey;
+
     @OneToMany(mappedBy = "forum")
     private Set<Topic> topics = new HashSet<>();
 
@@ -29,6 +45,14 @@ public class Forum {
         this.id = id;
     }
 
+    public UUID getUuid() {
+        return uuid;
+    }
+
+    public void setUuid(UUID uuid) {
+        this.uuid = uuid;
+    }
+
     public String getName() {
         return name;
     }
@@ -43,6 +67,7 @@ public class Forum {
 
     public void setSection(Section section) {
         this.section = section;
+        updateSectionKey();
     }
 
     public Set<Topic> getTopics() {
@@ -53,6 +78,12 @@ public class Forum {
         this.topics = topics;
     }
 
+    @PrePersist
+    @PreUpdate
+    private void updateSectionKey() {
+        sectionKey = section == null || section.getId() == null ? 0 : section.getId();
+    }
+
     @Override
     public String toString() {
         return "Forum{" +
@@ -65,15 +96,13 @@ public class Forum {
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
         Forum forum = (Forum) o;
-        return Objects.equals(id, forum.id) &&
-                name.equals(forum.name) &&
-                Objects.equals(section, forum.section);
+        return uuid.equals(forum.getUuid());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, name, section);
+        return uuid.hashCode();
     }
 }
@@ -1,15 +1,21 @@
 package gdinternshipspringapp.model.entity;
 
+import org.hibernate.Hibernate;
+
 import javax.persistence.*;
-import java.util.Objects;
+import java.util.UUID;
 
 @Entity
 public class Pic {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pic_seq")
+    @SequenceGenerator(name = "pic_seq", sequenceName = "pic_seq", allocationSize = 50)
     private Long id;
 
+    @Column(nullable = false, updatable = false, length = 16)
+    private UUID uuid = UUID.randomUUID();
+
     private String caption;
 
     private String imageLink;
@@ -26,6 +32,14 @@ public class Pic {
         this.id = id;
     }
 
+    public UUID getUuid() {
+        return uuid;
+    }
+
+    public void setUuid(UUID uuid) {
+        this.uuid = uuid;
+    }
+
     public String getCaption() {
         return caption;
     }
@@ -62,15 +76,13 @@ public class Pic {
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
         Pic pic = (Pic) o;
-        return Objects.equals(id, pic.id) &&
-                Objects.equals(caption, pic.caption) &&
-                Objects.equals(imageLink, pic.imageLink);
+        return uuid.equals(pic.getUuid());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, caption, imageLink);
+        return uuid.hashCode();
     }
 }
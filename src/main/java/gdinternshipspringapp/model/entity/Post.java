@@ -1,18 +1,24 @@
 package gdinternshipspringapp.model.entity;
 
+import org.hibernate.Hibernate;
+
 import javax.persistence.*;
 import java.time.LocalDate;
 import java.util.HashSet;
-import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
 
 @Entity
 public class Post {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_seq")
+    @SequenceGenerator(name = "post_seq", sequenceName = "post_seq", allocationSize = 50)
     private Long id;
 
+    @Column(nullable = false, updatable = false, length = 16)
+    private UUID uuid = UUID.randomUUID();
+
     private String message;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -40,6 +46,14 @@ public class Post {
         this.id = id;
     }
 
+    public UUID getUuid() {
+        return uuid;
+    }
+
+    public void setUuid(UUID uuid) {
+        this.uuid = uuid;
+    }
+
     public String getMessage() {
         return message;
     }
@@ -102,17 +116,13 @@ public class Post {
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
         Post post = (Post) o;
-        return Objects.equals(id, post.id) &&
-                message.equals(post.message) &&
-                Objects.equals(date, post.date) &&
-                Objects.equals(pics, post.pics) &&
-                Objects.equals(comments, post.comments);
+        return uuid.equals(post.getUuid());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, message, date, pics, comments);
+        return uuid.hashCode();
     }
 }
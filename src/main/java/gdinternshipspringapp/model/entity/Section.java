@@ -1,19 +1,28 @@
 package gdinternshipspringapp.model.entity;
 
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_section_name", columnNames = "name"))
 public class Section {
 
    @Id
-   @GeneratedValue(strategy = GenerationType.IDENTITY)
+   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "section_seq")
+   @SequenceGenerator(name = "section_seq", sequenceName = "section_seq", allocationSize = 50)
    private Long id;
 
    private String name;
 
+   @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
    @OneToMany(mappedBy = "section")
    private Set<Forum> forums = new HashSet<>();
 
@@ -52,14 +61,13 @@ public class Section {
    @Override
    public boolean equals(Object o) {
       if (this == o) return true;
-      if (o == null || getClass() != o.getClass()) return false;
+      if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
       Section section = (Section) o;
-      return Objects.equals(id, section.id) &&
-              name.equals(section.name);
+      return Objects.equals(name, section.getName());
    }
 
    @Override
    public int hashCode() {
-      return Objects.hash(id, name);
+      return Objects.hashCode(name);
    }
 }
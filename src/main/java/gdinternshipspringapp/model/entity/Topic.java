@@ -1,17 +1,25 @@
 package gdinternshipspringapp.model.entity;
 
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import java.util.HashSet;
-import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
 
 @Entity
 public class Topic {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "topic_seq")
+    @SequenceGenerator(name = "topic_seq", sequenceName = "topic_seq", allocationSize = 50)
     private Long id;
 
+    @Column(nullable = false, updatable = false, length = 16)
+    private UUID uuid = UUID.randomUUID();
+
     private String name;
 
     @Column(name = "start_msg")
@@ -25,6 +33,7 @@ public class Topic {
     @JoinColumn(name = "forum_id")
     private Forum forum;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ManyToMany
     @JoinTable(
             name = "topic_tag",
@@ -43,6 +52,14 @@ public class Topic {
         this.id = id;
     }
 
+    public UUID getUuid() {
+        return uuid;
+    }
+
+    public void setUuid(UUID uuid) {
+        this.uuid = uuid;
+    }
+
     public String getName() {
         return name;
     }
@@ -106,18 +123,13 @@ public class Topic {
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
         Topic topic = (Topic) o;
-        return Objects.equals(id, topic.id) &&
-                name.equals(topic.name) &&
-                Objects.equals(message, topic.message) &&
-                Objects.equals(forum, topic.forum) &&
-                Objects.equals(tags, topic.tags) &&
-                Objects.equals(posts, topic.posts);
+        return uuid.equals(topic.getUuid());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, name, message, forum, tags, posts);
+        return uuid.hashCode();
     }
 }
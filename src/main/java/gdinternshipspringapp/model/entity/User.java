@@ -1,17 +1,27 @@
 package gdinternshipspringapp.model.entity;
 
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.DynamicUpdate;
+
 import javax.persistence.*;
 import java.util.HashSet;
-import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
 
 @Entity
+@DynamicUpdate
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "user_seq", allocationSize = 50)
     private Long id;
 
+    // identity of the row from the moment the entity is created, equality and hashing use it
+    // because the id is only assigned on persist
+    @Column(nullable = false, updatable = false, length = 16)
+    private UUID uuid = UUID.randomUUID();
+
     private String name;
 
     private String email;
@@ -31,6 +41,9 @@ public class User {
     @OneToMany(mappedBy = "user")
     private Set<Comment> comments = new HashSet<>();
 
+    @Version
+    private Long version;
+
     public Long getId() {
         return id;
     }
@@ -39,6 +52,14 @@ public class User {
         this.id = id;
     }
 
+    public UUID getUuid() {
+        return uuid;
+    }
+
+    public void setUuid(UUID uuid) {
+        this.uuid = uuid;
+    }
+
     public String getName() {
         return name;
     }
@@ -103,26 +124,28 @@ public class User {
         this.comments = comments;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
         User user = (User) o;
-        return Objects.equals(id, user.id) &&
-                name.equals(user.name) &&
-                email.equals(user.email) &&
-                Objects.equals(login, user.login) &&
-                Objects.equals(password, user.password) &&
-                Objects.equals(topics, user.topics) &&
-                role == user.role;
+        return uuid.equals(user.getUuid());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, name, email, login, password, topics, role);
+        return uuid.hashCode();
     }
 
-        @Override
+    @Override
     public String toString() {
         return "User{" +
                 "id=" + id +
@@ -0,0 +1,23 @@
+package gdinternshipspringapp.model.projection;
+
+import gdinternshipspringapp.model.entity.Role;
+
+/**
+ * Scalar view of a user with sizes of its collections, selected without loading the entity
+ */
+public interface UserSummary {
+
+    Long getId();
+
+    String getName();
+
+    String getLogin();
+
+    Role getRole();
+
+    Long getTopicCount();
+
+    Long getPostCount();
+
+    Long getCommentCount();
+}
@@ -0,0 +1,63 @@
+package gdinternshipspringapp.monitoring;
+
+import gdinternshipspringapp.configuration.UserProperties;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Counts statements of a request by the phase they are executed in. Statements executed
+ * outside the service layer are lazy loads of the controller, of a converter called by it
+ * or of serialization, they are logged or fail the request.
+ */
+public class LazyLoadDetector implements QueryExecutionListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LazyLoadDetector.class);
+
+    private final RequestPhaseTracker tracker;
+
+    private final UserProperties.LazyLoad.Mode mode;
+
+    public LazyLoadDetector(RequestPhaseTracker tracker, UserProperties properties) {
+        this.tracker = tracker;
+        this.mode = properties.getLazyLoad().getMode();
+    }
+
+    /**
+     * Log the statements of a completed request
+     *
+     * @param context context of the request
+     */
+    public void requestCompleted(RequestContext context) {
+        if (context.getOutsideService() > 0) {
+            LOG.warn("{} executed {} statements outside the service layer, statements by phase {}, first one: {}",
+                    context.getRequest(), context.getOutsideService(), context.getStatementCounts(),
+                    context.getFirstOutsideService());
+        } else {
+            LOG.debug("{} executed statements by phase {}", context.getRequest(), context.getStatementCounts());
+        }
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestContext context = tracker.current();
+        if (context == null || queryInfoList.isEmpty()) {
+            return;
+        }
+        boolean outside = !context.isInService();
+        String query = queryInfoList.get(0).getQuery();
+        context.countStatements(queryInfoList.size(), outside, query);
+        if (outside && mode == UserProperties.LazyLoad.Mode.FAIL) {
+            throw new IllegalStateException(context.getRequest() + " executed a statement in "
+                    + context.getCallingPhase() + " phase outside the service layer: " + query);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package gdinternshipspringapp.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times calls of the user service and of user converters, with a percentile histogram per method.
+ * Ordered before transactions, so that a timed service call includes its commit.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class OperationTimingAspect {
+
+    static final String SERVICE_TIMER = "users.service";
+
+    static final String CONVERTER_TIMER = "users.converter";
+
+    private final MeterRegistry registry;
+
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public OperationTimingAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(* gdinternshipspringapp.service.UserService.*(..))")
+    public Object service(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, SERVICE_TIMER);
+    }
+
+    @Around("execution(* gdinternshipspringapp.converter.UserConverter.*(..))")
+    public Object converter(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, CONVERTER_TIMER);
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String name) throws Throwable {
+        long start = System.nanoTime();
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            TimerKey key = new TimerKey(name, joinPoint.getTarget().getClass().getSimpleName(),
+                    joinPoint.getSignature().getName(), exception);
+            timers.computeIfAbsent(key, this::register).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer register(TimerKey key) {
+        return Timer.builder(key.name)
+                .tag("class", key.className)
+                .tag("method", key.method)
+                .tag("exception", key.exception)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static final class TimerKey {
+
+        private final String name;
+
+        private final String className;
+
+        private final String method;
+
+        private final String exception;
+
+        private TimerKey(String name, String className, String method, String exception) {
+            this.name = name;
+            this.className = className;
+            this.method = method;
+            this.exception = exception;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            TimerKey timerKey = (TimerKey) o;
+            return name.equals(timerKey.name) && className.equals(timerKey.className) &&
+                    method.equals(timerKey.method) && exception.equals(timerKey.exception);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, className, method, exception);
+        }
+    }
+}
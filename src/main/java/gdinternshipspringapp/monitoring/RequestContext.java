@@ -0,0 +1,148 @@
+package gdinternshipspringapp.monitoring;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * State of a request handled by the current thread: the phase it is in, the time spent in each phase
+ * and the statements it executed. Times are exclusive, entering a phase stops the clock of the one
+ * it's called from, so they add up to the time of the request.
+ */
+public final class RequestContext {
+
+    private static final RequestPhase[] PHASES = RequestPhase.values();
+
+    private final String request;
+
+    private final boolean openedByHandler;
+
+    private final long start;
+
+    private final long[] nanos = new long[PHASES.length];
+
+    private RequestPhase phase;
+
+    private RequestPhase callingPhase;
+
+    private long since;
+
+    private int serviceDepth;
+
+    private boolean headerSent;
+
+    private final Map<RequestPhase, Integer> statementCounts = new EnumMap<>(RequestPhase.class);
+
+    private int outsideService;
+
+    private String firstOutsideService;
+
+    RequestContext(String request, RequestPhase phase, boolean openedByHandler) {
+        this.request = request;
+        this.openedByHandler = openedByHandler;
+        this.phase = phase;
+        this.callingPhase = phase;
+        this.start = System.nanoTime();
+        this.since = start;
+    }
+
+    /**
+     * @return method and path of the request
+     */
+    public String getRequest() {
+        return request;
+    }
+
+    public RequestPhase getPhase() {
+        return phase;
+    }
+
+    /**
+     * @return innermost phase other than the repository, the one a statement is attributed to
+     */
+    public RequestPhase getCallingPhase() {
+        return callingPhase;
+    }
+
+    public boolean isInService() {
+        return serviceDepth > 0;
+    }
+
+    /**
+     * @return nanoseconds spent in a phase until the last switch or update
+     */
+    public long getNanos(RequestPhase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    /**
+     * @return nanoseconds since the request started until the last switch or update
+     */
+    public long getTotalNanos() {
+        return since - start;
+    }
+
+    public Map<RequestPhase, Integer> getStatementCounts() {
+        return statementCounts;
+    }
+
+    public int getOutsideService() {
+        return outsideService;
+    }
+
+    public String getFirstOutsideService() {
+        return firstOutsideService;
+    }
+
+    boolean isOpenedByHandler() {
+        return openedByHandler;
+    }
+
+    void enter(RequestPhase next, long now) {
+        if (next == RequestPhase.SERVICE) {
+            serviceDepth++;
+        }
+        switchTo(next, now);
+    }
+
+    void leave(RequestPhase left, RequestPhase previous, long now) {
+        if (left == RequestPhase.SERVICE) {
+            serviceDepth--;
+        }
+        switchTo(previous, now);
+    }
+
+    /**
+     * Count the time of the current phase up to now
+     */
+    void update(long now) {
+        nanos[phase.ordinal()] += now - since;
+        since = now;
+    }
+
+    private void switchTo(RequestPhase next, long now) {
+        update(now);
+        phase = next;
+        if (next != RequestPhase.REPOSITORY) {
+            callingPhase = next;
+        }
+    }
+
+    /**
+     * @return whether the Server-Timing header is still to be sent, it is sent once per request
+     */
+    boolean markHeaderSent() {
+        boolean first = !headerSent;
+        headerSent = true;
+        return first;
+    }
+
+    void countStatements(int count, boolean outside, String query) {
+        statementCounts.merge(callingPhase, count, Integer::sum);
+        if (outside) {
+            outsideService += count;
+            if (firstOutsideService == null) {
+                firstOutsideService = query;
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package gdinternshipspringapp.monitoring;
+
+/**
+ * Part of request handling, filters cover everything outside the handler
+ */
+public enum RequestPhase {
+    FILTERS, CONTROLLER, SERVICE, REPOSITORY, CONVERTER, SERIALIZATION
+}
@@ -0,0 +1,47 @@
+package gdinternshipspringapp.monitoring;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Marks calls of services, converters and repositories as phases of the current request. Ordered before
+ * transactions, so that statements flushed on commit belong to the service.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestPhaseAspect {
+
+    private final RequestPhaseTracker tracker;
+
+    public RequestPhaseAspect(RequestPhaseTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Around("execution(* gdinternshipspringapp.service.UserService.*(..))"
+            + " || execution(* gdinternshipspringapp.service.UserImportService.*(..))")
+    public Object service(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceed(joinPoint, RequestPhase.SERVICE);
+    }
+
+    @Around("execution(* gdinternshipspringapp.converter.UserConverter.*(..))")
+    public Object converter(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceed(joinPoint, RequestPhase.CONVERTER);
+    }
+
+    @Around("target(org.springframework.data.repository.Repository)")
+    public Object repository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceed(joinPoint, RequestPhase.REPOSITORY);
+    }
+
+    private Object proceed(ProceedingJoinPoint joinPoint, RequestPhase phase) throws Throwable {
+        RequestPhase previous = tracker.enter(phase);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            tracker.leave(phase, previous);
+        }
+    }
+}
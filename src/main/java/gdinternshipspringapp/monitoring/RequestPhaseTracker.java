@@ -0,0 +1,127 @@
+package gdinternshipspringapp.monitoring;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the context of the request handled by the current thread and switches it between phases.
+ * A request is opened by the timing filter when there is one, otherwise by the handler interceptor,
+ * and whoever opened it closes it. Lazy-load detection and Server-Timing both read the same context.
+ */
+public class RequestPhaseTracker implements AsyncHandlerInterceptor {
+
+    private final ThreadLocal<RequestContext> current = new ThreadLocal<>();
+
+    private final List<Consumer<RequestContext>> completionListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Call a listener with the context of every closed request
+     *
+     * @param listener completion listener
+     */
+    public void onCompletion(Consumer<RequestContext> listener) {
+        completionListeners.add(listener);
+    }
+
+    /**
+     * Open a request on the current thread in the filters phase
+     *
+     * @param request opened request
+     * @return context of the request
+     */
+    public RequestContext open(HttpServletRequest request) {
+        RequestContext context = new RequestContext(describe(request), RequestPhase.FILTERS, false);
+        current.set(context);
+        return context;
+    }
+
+    /**
+     * Close the request of the current thread
+     *
+     * @return context of the closed request, null without one
+     */
+    public RequestContext close() {
+        RequestContext context = current.get();
+        current.remove();
+        if (context == null) {
+            return null;
+        }
+        context.update(System.nanoTime());
+        completionListeners.forEach(listener -> listener.accept(context));
+        return context;
+    }
+
+    /**
+     * @return context of the request of the current thread, null without one
+     */
+    public RequestContext current() {
+        return current.get();
+    }
+
+    /**
+     * Switch the current request to a phase
+     *
+     * @param phase entered phase
+     * @return phase to restore on leaving, null outside a request
+     */
+    public RequestPhase enter(RequestPhase phase) {
+        RequestContext context = current.get();
+        if (context == null) {
+            return null;
+        }
+        RequestPhase previous = context.getPhase();
+        context.enter(phase, System.nanoTime());
+        return previous;
+    }
+
+    /**
+     * Switch the current request back to the phase it was in before entering one
+     *
+     * @param phase left phase
+     * @param previous phase returned on entering
+     */
+    public void leave(RequestPhase phase, RequestPhase previous) {
+        RequestContext context = current.get();
+        if (context != null && previous != null) {
+            context.leave(phase, previous, System.nanoTime());
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (current.get() == null) {
+            current.set(new RequestContext(describe(request), RequestPhase.CONTROLLER, true));
+        } else {
+            enter(RequestPhase.CONTROLLER);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // the rest of the request runs on another thread, which opens a request of its own
+        current.remove();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestContext context = current.get();
+        if (context == null) {
+            return;
+        }
+        if (context.isOpenedByHandler()) {
+            close();
+        } else {
+            leave(RequestPhase.CONTROLLER, RequestPhase.FILTERS);
+        }
+    }
+
+    private static String describe(HttpServletRequest request) {
+        return request.getMethod() + " " + request.getRequestURI();
+    }
+}
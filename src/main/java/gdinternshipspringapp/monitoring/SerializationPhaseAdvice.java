@@ -0,0 +1,48 @@
+package gdinternshipspringapp.monitoring;
+
+import gdinternshipspringapp.configuration.RequestPhaseConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Switches the current request to serialization right before its body is written, a request timed
+ * by the filter gets its Server-Timing header then, so serialization only gets into the log.
+ * Found by scanning as controller advices are, so it repeats the condition of the tracker.
+ */
+@ControllerAdvice
+@ConditionalOnExpression(RequestPhaseConfiguration.ENABLED)
+public class SerializationPhaseAdvice implements ResponseBodyAdvice<Object> {
+
+    private final RequestPhaseTracker tracker;
+
+    public SerializationPhaseAdvice(RequestPhaseTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestContext context = tracker.current();
+        if (context == null) {
+            return body;
+        }
+        if (!context.isOpenedByHandler() && context.markHeaderSent()) {
+            response.getHeaders().add(ServerTimingFilter.SERVER_TIMING, ServerTimingFilter.header(context));
+        }
+        // left when the request completes
+        tracker.enter(RequestPhase.SERIALIZATION);
+        return body;
+    }
+}
@@ -0,0 +1,97 @@
+package gdinternshipspringapp.monitoring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Opens the request context before the security filters, so their time is counted, sends the Server-Timing
+ * header of responses without a body and logs a sample of requests with the time of each phase
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private static final Logger LOG = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    private static final RequestPhase[] PHASES = RequestPhase.values();
+
+    private final RequestPhaseTracker tracker;
+
+    private final double logSampleRate;
+
+    public ServerTimingFilter(RequestPhaseTracker tracker, double logSampleRate) {
+        this.tracker = tracker;
+        this.logSampleRate = logSampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestContext context = tracker.open(request);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // a request gone async was taken off this thread
+            if (tracker.current() == context) {
+                if (!response.isCommitted() && context.markHeaderSent()) {
+                    response.addHeader(SERVER_TIMING, header(context));
+                }
+                tracker.close();
+                if (LOG.isInfoEnabled() && ThreadLocalRandom.current().nextDouble() < logSampleRate) {
+                    log(request, response, context);
+                }
+            }
+        }
+    }
+
+    /**
+     * Value of the Server-Timing header with the time spent so far
+     *
+     * @param context context of the current request
+     * @return header value
+     */
+    static String header(RequestContext context) {
+        context.update(System.nanoTime());
+        StringBuilder header = new StringBuilder();
+        for (RequestPhase phase : PHASES) {
+            if (context.getNanos(phase) > 0) {
+                append(header, phase.name().toLowerCase(Locale.ROOT), context.getNanos(phase));
+            }
+        }
+        append(header, "total", context.getTotalNanos());
+        return header.toString();
+    }
+
+    private static void log(HttpServletRequest request, HttpServletResponse response, RequestContext context) {
+        StringBuilder message = new StringBuilder()
+                .append("method=").append(request.getMethod())
+                .append(" path=").append(request.getRequestURI())
+                .append(" status=").append(response.getStatus())
+                .append(" totalMs=").append(toMillis(context.getTotalNanos()));
+        for (RequestPhase phase : PHASES) {
+            message.append(' ').append(phase.name().toLowerCase(Locale.ROOT)).append("Ms=")
+                    .append(toMillis(context.getNanos(phase)));
+        }
+        LOG.info(message.toString());
+    }
+
+    private static void append(StringBuilder header, String name, long nanos) {
+        if (header.length() > 0) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=").append(toMillis(nanos));
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
@@ -1,9 +1,36 @@
 package gdinternshipspringapp.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import gdinternshipspringapp.model.entity.Comment;
 
+import java.util.List;
+
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+    /**
+     * Find other users who commented posts that go away with the user
+     *
+     * @param userId id of deleted user
+     * @return ids of the other authors
+     */
+    @Query("select distinct c.user.id from Comment c join c.post p left join p.topic t " +
+            "where (p.user.id = :userId or t.user.id = :userId) and c.user.id <> :userId")
+    List<Long> findOtherAuthorIdsOnPostsOfUser(@Param("userId") Long userId);
+
+    /**
+     * Delete comments written by the user and comments left under posts that go away with the user
+     *
+     * @param userId id of deleted user
+     * @return number of deleted rows
+     */
+    @Modifying
+    @Query("delete from Comment c where c.user.id = :userId or c.post.id in " +
+            "(select p.id from Post p where p.user.id = :userId or p.topic.id in " +
+            "(select t.id from Topic t where t.user.id = :userId))")
+    int deleteAllOfUser(@Param("userId") Long userId);
 }
@@ -1,9 +1,55 @@
 package gdinternshipspringapp.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import gdinternshipspringapp.model.entity.Forum;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface ForumRepository extends JpaRepository<Forum,Long> {
+
+    Optional<Forum> findFirstBySectionIdAndName(Long sectionId, String name);
+
+    /**
+     * Locking read by the unique key, the name is compared by the collation of the column
+     *
+     * @param sectionKey id of the section or 0 for forums without one
+     * @param name name of the forum
+     * @return found forum
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select f from Forum f where f.sectionKey = :sectionKey and f.name = :name")
+    Optional<Forum> findAndLockBySectionKeyAndName(@Param("sectionKey") long sectionKey, @Param("name") String name);
+
+    /**
+     * Locking read, it sees forums committed by other transactions after this one started
+     * and keeps them from being deleted until this transaction links them to topics
+     *
+     * @param ids ids of forums
+     * @return found forums
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select f from Forum f where f.id in :ids")
+    List<Forum> findAndLockByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select distinct t.forum.id from Topic t where t.user.id = :userId")
+    List<Long> findIdsOfUserTopics(@Param("userId") Long userId);
+
+    /**
+     * Delete forums which don't contain any topic anymore
+     *
+     * @param ids candidates for deletion
+     * @return number of deleted rows
+     */
+    @Modifying
+    @Query("delete from Forum f where f.id in :ids and f.topics is empty")
+    int deleteUnusedByIdIn(@Param("ids") Collection<Long> ids);
 }
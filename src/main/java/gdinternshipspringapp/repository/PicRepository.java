@@ -1,9 +1,24 @@
 package gdinternshipspringapp.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import gdinternshipspringapp.model.entity.Pic;
 
 @Repository
 public interface PicRepository extends JpaRepository<Pic, Long> {
+
+    /**
+     * Delete pics of posts written by the user or posted in topics of the user
+     *
+     * @param userId id of deleted user
+     * @return number of deleted rows
+     */
+    @Modifying
+    @Query("delete from Pic pic where pic.post.id in " +
+            "(select p.id from Post p where p.user.id = :userId or p.topic.id in " +
+            "(select t.id from Topic t where t.user.id = :userId))")
+    int deleteAllOfUser(@Param("userId") Long userId);
 }
@@ -1,9 +1,34 @@
 package gdinternshipspringapp.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import gdinternshipspringapp.model.entity.Post;
 
+import java.util.List;
+
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
+
+    /**
+     * Find other users who posted in topics of the user, their posts go away with the user
+     *
+     * @param userId id of deleted user
+     * @return ids of the other authors
+     */
+    @Query("select distinct p.user.id from Post p join p.topic t where t.user.id = :userId and p.user.id <> :userId")
+    List<Long> findOtherAuthorIdsInTopicsOfUser(@Param("userId") Long userId);
+
+    /**
+     * Delete posts written by the user or posted in topics of the user
+     *
+     * @param userId id of deleted user
+     * @return number of deleted rows
+     */
+    @Modifying
+    @Query("delete from Post p where p.user.id = :userId or p.topic.id in " +
+            "(select t.id from Topic t where t.user.id = :userId)")
+    int deleteAllOfUser(@Param("userId") Long userId);
 }
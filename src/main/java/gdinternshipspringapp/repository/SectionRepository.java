@@ -1,9 +1,44 @@
 package gdinternshipspringapp.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import gdinternshipspringapp.model.entity.Section;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface SectionRepository extends JpaRepository<Section, Long> {
+
+    Optional<Section> findFirstByName(String name);
+
+    /**
+     * Locking read by name, compared by the collation of the column, it sees a section committed
+     * by another transaction after this one started
+     *
+     * @param name name of the section
+     * @return found section
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select s from Section s where s.name = :name")
+    Optional<Section> findAndLockByName(@Param("name") String name);
+
+    @Query("select distinct f.section.id from Topic t join t.forum f where t.user.id = :userId")
+    List<Long> findIdsOfUserTopics(@Param("userId") Long userId);
+
+    /**
+     * Delete sections which don't contain any forum anymore
+     *
+     * @param ids candidates for deletion
+     * @return number of deleted rows
+     */
+    @Modifying
+    @Query("delete from Section s where s.id in :ids and s.forums is empty")
+    int deleteUnusedByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -1,9 +1,63 @@
 package gdinternshipspringapp.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import gdinternshipspringapp.model.entity.Tag;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface TagRepository extends JpaRepository<Tag, Long> {
+
+    List<Tag> findByNameIn(Collection<String> names);
+
+    /**
+     * Locking read, it sees tags committed by other transactions after this one started
+     * and keeps them from being deleted until this transaction links them to topics
+     *
+     * @param ids ids of tags
+     * @return found tags
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select t from Tag t where t.id in :ids")
+    List<Tag> findAndLockByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Locking read by names, compared by the collation of the column
+     *
+     * @param names names of tags
+     * @return found tags, their names may differ from the given ones in what the collation ignores
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select t from Tag t where t.name in :names")
+    List<Tag> findAndLockByNameIn(@Param("names") Collection<String> names);
+
+    @Query("select distinct tag.id from Topic t join t.tags tag where t.user.id = :userId")
+    List<Long> findIdsOfUserTopics(@Param("userId") Long userId);
+
+    /**
+     * Find tags which are not linked with any topic anymore
+     *
+     * @param ids candidates for deletion
+     * @return ids of unused tags
+     */
+    @Query("select t.id from Tag t where t.id in :ids and t.topics is empty")
+    List<Long> findUnusedIdsIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Bulk delete, mysql rejects a delete of topic_tag rows which selects from topic_tag itself,
+     * so unused tags are found with {@link #findUnusedIdsIn(Collection)} first
+     *
+     * @param ids ids of deleted tags
+     * @return number of deleted rows
+     */
+    @Modifying
+    @Query("delete from Tag t where t.id in :ids")
+    int deleteBulkByIdIn(@Param("ids") Collection<Long> ids);
 }
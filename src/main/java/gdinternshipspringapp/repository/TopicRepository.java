@@ -1,9 +1,22 @@
 package gdinternshipspringapp.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import gdinternshipspringapp.model.entity.Topic;
 
 @Repository
 public interface TopicRepository extends JpaRepository<Topic, Long> {
+
+    /**
+     * Delete topics of the user, hibernate removes their topic_tag rows in a statement of its own
+     *
+     * @param userId id of deleted user
+     * @return number of deleted rows
+     */
+    @Modifying
+    @Query("delete from Topic t where t.user.id = :userId")
+    int deleteAllOfUser(@Param("userId") Long userId);
 }
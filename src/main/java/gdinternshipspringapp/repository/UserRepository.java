@@ -1,13 +1,98 @@
 package gdinternshipspringapp.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import gdinternshipspringapp.model.entity.User;
+import gdinternshipspringapp.model.projection.UserSummary;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    String SUMMARY_SELECT = "select u.id as id, u.name as name, u.login as login, u.role as role, " +
+            "(select count(t) from Topic t where t.user = u) as topicCount, " +
+            "(select count(p) from Post p where p.user = u) as postCount, " +
+            "(select count(c) from Comment c where c.user = u) as commentCount from User u ";
+
+    String AFTER_POSITION = "((:name is null and (u.name is not null or u.id > :id)) " +
+            "or u.name > :name or (u.name = :name and u.id > :id)) ";
+
     List<User> findByOrderByNameAsc();
+
+    List<User> findByOrderByNameAscIdAsc(Pageable pageable);
+
+    /**
+     * Users after the (name, id) position, null names sort first as they do in MySQL and H2
+     */
+    @Query("select u from User u where " + AFTER_POSITION + "order by u.name asc, u.id asc")
+    List<User> findPageAfter(@Param("name") String name, @Param("id") Long id, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "order by u.name asc, u.id asc")
+    List<UserSummary> findSummaries(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "where " + AFTER_POSITION + "order by u.name asc, u.id asc")
+    List<UserSummary> findSummariesAfter(@Param("name") String name, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Load users with topics, their forums, sections and tags. Together with {@link #fetchPostsByIdIn(Collection)}
+     * and {@link #fetchCommentsByIdIn(Collection)} it initializes everything UserDto needs in three queries,
+     * collections are fetched separately so that joins don't multiply each other's rows
+     *
+     * @param ids ids of users
+     * @return found users
+     */
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("select distinct u from User u left join fetch u.topics t left join fetch t.forum f " +
+            "left join fetch f.section left join fetch t.tags where u.id in :ids")
+    List<User> fetchTopicsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("select distinct u from User u left join fetch u.posts p left join fetch p.pics where u.id in :ids")
+    List<User> fetchPostsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("select distinct u from User u left join fetch u.comments where u.id in :ids")
+    List<User> fetchCommentsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select u.version from User u where u.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select u from User u order by u.name asc, u.id asc")
+    Stream<User> streamAllByOrderByNameAscIdAsc();
+
+    /**
+     * Row count estimate kept by InnoDB statistics, cheap compared to count(*) on a large table.
+     * MySQL only, callers check users.page.estimate-total before using it
+     */
+    @Query(value = "SELECT TABLE_ROWS FROM information_schema.TABLES " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'user'", nativeQuery = true)
+    Long estimateCount();
+
+    /**
+     * Increment versions of users whose aggregates were changed by bulk statements, which bypass optimistic locking
+     *
+     * @param ids ids of changed users
+     * @return number of updated rows
+     */
+    @Modifying
+    @Query("update User u set u.version = u.version + 1 where u.id in :ids")
+    int incrementVersionByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from User u where u.id = :id")
+    int deleteBulkById(@Param("id") Long id);
 }
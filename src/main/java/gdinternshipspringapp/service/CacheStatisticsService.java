@@ -0,0 +1,12 @@
+package gdinternshipspringapp.service;
+
+import gdinternshipspringapp.model.dto.CacheStatsDto;
+import gdinternshipspringapp.model.dto.UserCacheStatsDto;
+
+import java.util.List;
+
+public interface CacheStatisticsService {
+    List<CacheStatsDto> findReferenceCacheStatistics();
+
+    UserCacheStatsDto findUserCacheStatistics();
+}
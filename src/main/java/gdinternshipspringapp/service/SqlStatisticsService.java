@@ -0,0 +1,9 @@
+package gdinternshipspringapp.service;
+
+import gdinternshipspringapp.model.dto.SqlStatementStatsDto;
+
+import java.util.List;
+
+public interface SqlStatisticsService {
+    List<SqlStatementStatsDto> findSlowestStatements(Integer limit);
+}
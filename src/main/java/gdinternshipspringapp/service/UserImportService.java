@@ -0,0 +1,17 @@
+package gdinternshipspringapp.service;
+
+import gdinternshipspringapp.model.dto.UserDto;
+import gdinternshipspringapp.model.dto.UserImportSummaryDto;
+
+import java.util.Iterator;
+
+public interface UserImportService {
+
+    /**
+     * Persist users in chunks, each chunk in its own transaction
+     *
+     * @param users users to import, read lazily
+     * @return result for every consumed item
+     */
+    UserImportSummaryDto importUsers(Iterator<UserDto> users);
+}
@@ -1,17 +1,33 @@
 package gdinternshipspringapp.service;
 
+import gdinternshipspringapp.model.dto.PageDto;
 import gdinternshipspringapp.model.dto.UserDto;
+import gdinternshipspringapp.model.dto.UserPatchDto;
+import gdinternshipspringapp.model.projection.UserSummary;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
     List<UserDto> findAll();
 
+    PageDto<UserDto> findPage(String token, Integer size, boolean withTotal);
+
+    PageDto<UserSummary> findSummaryPage(String token, Integer size);
+
+    void streamAll(Consumer<UserDto> consumer);
+
     UserDto findUserById(Long id);
 
+    Long findVersionById(Long id);
+
     UserDto createUser(UserDto userDto);
 
-    UserDto updateUser(Long id, UserDto userDto);
+    List<Long> createUsers(List<UserDto> userDtos);
+
+    UserDto updateUser(Long id, UserDto userDto, Long expectedVersion);
+
+    Long patchUser(Long id, UserPatchDto patch, Long expectedVersion);
 
     void deleteUserById(Long id);
 }
@@ -0,0 +1,65 @@
+package gdinternshipspringapp.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import gdinternshipspringapp.configuration.ReferenceCacheConfiguration;
+import gdinternshipspringapp.model.dto.CacheStatsDto;
+import gdinternshipspringapp.model.dto.UserCacheStatsDto;
+import gdinternshipspringapp.service.CacheStatisticsService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static gdinternshipspringapp.configuration.UserCacheConfiguration.USER_CACHE;
+
+@Service
+public class CacheStatisticsServiceImpl implements CacheStatisticsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final CacheManager cacheManager;
+
+    public CacheStatisticsServiceImpl(EntityManagerFactory entityManagerFactory, CacheManager cacheManager) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Counters are collected by Hibernate only while hibernate.generate_statistics is on, otherwise they stay zero
+     */
+    @Override
+    public List<CacheStatsDto> findReferenceCacheStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return ReferenceCacheConfiguration.REGIONS.stream()
+                .map(region -> {
+                    CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+                    return new CacheStatsDto(region, regionStatistics.getHitCount(),
+                            regionStatistics.getMissCount(), regionStatistics.getPutCount());
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public UserCacheStatsDto findUserCacheStatistics() {
+        Cache<Object, Object> cache = (Cache<Object, Object>) cacheManager.getCache(USER_CACHE).getNativeCache();
+        CacheStats stats = cache.stats();
+        UserCacheStatsDto statsDto = new UserCacheStatsDto();
+        statsDto.setHitCount(stats.hitCount());
+        statsDto.setMissCount(stats.missCount());
+        statsDto.setHitRatio(stats.hitRate());
+        statsDto.setEvictionCount(stats.evictionCount());
+        statsDto.setSize(cache.estimatedSize());
+        cache.policy().eviction().ifPresent(eviction -> {
+            eviction.weightedSize().ifPresent(statsDto::setEstimatedBytes);
+            statsDto.setMaxBytes(eviction.getMaximum());
+        });
+        return statsDto;
+    }
+}
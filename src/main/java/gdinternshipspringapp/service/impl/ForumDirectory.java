@@ -0,0 +1,267 @@
+package gdinternshipspringapp.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import gdinternshipspringapp.configuration.UserProperties;
+import gdinternshipspringapp.exception.ServiceException;
+import gdinternshipspringapp.model.entity.Forum;
+import gdinternshipspringapp.model.entity.Section;
+import gdinternshipspringapp.repository.ForumRepository;
+import gdinternshipspringapp.repository.SectionRepository;
+import org.hibernate.SessionFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static gdinternshipspringapp.exception.errorCode.UserServiceErrorCode.FORUM_NOT_EXIST;
+import static gdinternshipspringapp.exception.errorCode.UserServiceErrorCode.SECTION_NOT_EXIST;
+
+/**
+ * Resolves forums by id or by their name within a section, and sections by id or by name,
+ * so topics of many users share one row of each. Ids of known keys are kept in memory,
+ * unknown keys are looked up with a locking read and the missing ones are inserted in the transaction of the caller.
+ * Names are compared by the database, so names that differ in Java can resolve to one row.
+ */
+@Component
+public class ForumDirectory {
+
+    private static final String SECTION_FORUMS = Section.class.getName() + ".forums";
+
+    private static final Comparator<String> NAME_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private static final Comparator<ForumKey> KEY_ORDER = Comparator.<ForumKey>comparingLong(key -> key.sectionKey)
+            .thenComparing(key -> key.name, NAME_ORDER);
+
+    private final SectionRepository sectionRepository;
+
+    private final ForumRepository forumRepository;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final SavepointInserter inserter;
+
+    private final int maxAttempts;
+
+    private final Cache<String, Long> sectionIds;
+
+    private final Cache<ForumKey, Long> forumIds;
+
+    public ForumDirectory(SectionRepository sectionRepository, ForumRepository forumRepository,
+                          EntityManagerFactory entityManagerFactory, SavepointInserter inserter,
+                          UserProperties properties) {
+        this.sectionRepository = sectionRepository;
+        this.forumRepository = forumRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.inserter = inserter;
+        UserProperties.Directory settings = properties.getDirectory();
+        this.maxAttempts = settings.getMaxAttempts();
+        this.sectionIds = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxSize())
+                .build();
+        this.forumIds = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxSize())
+                .build();
+    }
+
+    /**
+     * Find or create forums and their sections, must be called inside a transaction
+     *
+     * @param forums forums sent by the client, with an id or with a name and a section
+     * @return managed forums by the sent ones, compared by identity
+     */
+    public Map<Forum, Forum> resolve(Collection<Forum> forums) {
+        Map<Forum, Long> ids = resolveIds(forums);
+        Map<Long, Forum> managed = lock(ids.values());
+        List<Forum> deleted = new ArrayList<>();
+        ids.forEach((forum, id) -> {
+            if (!managed.containsKey(id)) {
+                if (forum.getId() != null) {
+                    throw new ServiceException(FORUM_NOT_EXIST);
+                }
+                deleted.add(forum);
+            }
+        });
+        if (!deleted.isEmpty()) {
+            // a remembered forum was deleted in the meantime, its key is resolved again
+            // and so is its section, which goes away with its last forum
+            evict(deleted.stream().map(ids::get).collect(Collectors.toList()), Collections.emptySet());
+            deleted.stream()
+                    .map(forum -> nameOf(forum.getSection()))
+                    .filter(Objects::nonNull)
+                    .forEach(sectionIds::invalidate);
+            Map<Forum, Long> newIds = resolveIds(deleted);
+            managed.putAll(lock(newIds.values()));
+            ids.putAll(newIds);
+        }
+        Map<Forum, Forum> result = new IdentityHashMap<>();
+        ids.forEach((forum, id) -> {
+            Forum found = managed.get(id);
+            if (found == null) {
+                throw new ServiceException(FORUM_NOT_EXIST);
+            }
+            result.put(forum, found);
+        });
+        return result;
+    }
+
+    /**
+     * Forget deleted forums and sections
+     *
+     * @param deletedForumIds ids of possibly deleted forums
+     * @param deletedSectionIds ids of possibly deleted sections
+     */
+    public void evict(Collection<Long> deletedForumIds, Collection<Long> deletedSectionIds) {
+        Set<Long> forumIdSet = new HashSet<>(deletedForumIds);
+        Set<Long> sectionIdSet = new HashSet<>(deletedSectionIds);
+        forumIds.asMap().entrySet().removeIf(entry ->
+                forumIdSet.contains(entry.getValue()) || sectionIdSet.contains(entry.getKey().sectionKey));
+        sectionIds.asMap().values().removeIf(sectionIdSet::contains);
+    }
+
+    /**
+     * All new sections are inserted before the new forums, each in sorted order, so creators of the same keys
+     * wait for each other on the unique constraints instead of deadlocking, and a creator who loses finds
+     * the winner's row. No lock is held in the application while waiting for the database.
+     */
+    private Map<Forum, Long> resolveIds(Collection<Forum> forums) {
+        Set<String> sectionNames = new HashSet<>();
+        forums.stream()
+                .filter(forum -> forum.getId() == null && forum.getSection() != null && forum.getSection().getId() == null)
+                .forEach(forum -> sectionNames.add(forum.getSection().getName()));
+        Map<String, Long> namedSectionIds = resolveSections(sectionNames);
+        Map<Forum, Long> ids = new IdentityHashMap<>();
+        Map<Forum, ForumKey> keys = new IdentityHashMap<>();
+        forums.forEach(forum -> {
+            if (forum.getId() != null) {
+                ids.put(forum, forum.getId());
+            } else {
+                keys.put(forum, keyOf(forum, namedSectionIds));
+            }
+        });
+        Set<ForumKey> unknown = new TreeSet<>(KEY_ORDER);
+        unknown.addAll(keys.values());
+        Map<ForumKey, Long> forumIdsByKey = new HashMap<>(forumIds.getAllPresent(unknown));
+        unknown.removeAll(forumIdsByKey.keySet());
+        Set<Long> resolvedSectionIds = new HashSet<>(namedSectionIds.values());
+        for (ForumKey key : unknown) {
+            forumIdsByKey.put(key, findOrInsertForum(key, resolvedSectionIds.contains(key.sectionKey)));
+        }
+        keys.forEach((forum, key) -> ids.put(forum, forumIdsByKey.get(key)));
+        return ids;
+    }
+
+    private Map<String, Long> resolveSections(Set<String> names) {
+        Set<String> missing = new TreeSet<>(NAME_ORDER);
+        missing.addAll(names);
+        // a section without a name is never remembered, nulls don't collide in the unique constraint
+        missing.remove(null);
+        Map<String, Long> result = new HashMap<>(sectionIds.getAllPresent(missing));
+        missing.removeAll(result.keySet());
+        if (names.contains(null)) {
+            missing.add(null);
+        }
+        for (String name : missing) {
+            Long id = findOrInsertSection(name);
+            if (name != null) {
+                sectionIds.put(name, id);
+            }
+            result.put(name, id);
+        }
+        return result;
+    }
+
+    /**
+     * A name without a row may still be taken by a section inserted concurrently or by one
+     * the collation considers equal, its insert fails then and that section is found by the name
+     */
+    private Long findOrInsertSection(String name) {
+        for (int attempt = 1; ; attempt++) {
+            Optional<Section> existing = sectionRepository.findAndLockByName(name);
+            if (existing.isPresent()) {
+                return existing.get().getId();
+            }
+            Section section = new Section();
+            section.setName(name);
+            if (inserter.insert(section)) {
+                return section.getId();
+            }
+            if (attempt >= maxAttempts) {
+                throw new DataIntegrityViolationException("Section " + name + " can't be inserted");
+            }
+        }
+    }
+
+    private Long findOrInsertForum(ForumKey key, boolean sectionResolved) {
+        if (key.sectionKey != 0 && !sectionResolved && !sectionRepository.existsById(key.sectionKey)) {
+            throw new ServiceException(SECTION_NOT_EXIST);
+        }
+        for (int attempt = 1; ; attempt++) {
+            Optional<Forum> existing = forumRepository.findAndLockBySectionKeyAndName(key.sectionKey, key.name);
+            if (existing.isPresent()) {
+                forumIds.put(key, existing.get().getId());
+                return existing.get().getId();
+            }
+            Forum forum = new Forum();
+            forum.setName(key.name);
+            forum.setSection(key.sectionKey == 0 ? null : sectionRepository.getById(key.sectionKey));
+            if (inserter.insert(forum)) {
+                if (key.sectionKey != 0) {
+                    // the section's cached forum collection doesn't know about a forum inserted by a stateless session
+                    entityManagerFactory.unwrap(SessionFactory.class).getCache()
+                            .evictCollectionData(SECTION_FORUMS, key.sectionKey);
+                }
+                forumIds.put(key, forum.getId());
+                return forum.getId();
+            }
+            if (attempt >= maxAttempts) {
+                throw new DataIntegrityViolationException("Forum " + key.name + " can't be inserted");
+            }
+        }
+    }
+
+    private Map<Long, Forum> lock(Collection<Long> ids) {
+        return forumRepository.findAndLockByIdIn(new HashSet<>(ids)).stream()
+                .collect(Collectors.toMap(Forum::getId, Function.identity()));
+    }
+
+    private static ForumKey keyOf(Forum forum, Map<String, Long> namedSectionIds) {
+        Section section = forum.getSection();
+        long sectionKey = section == null ? 0
+                : section.getId() != null ? section.getId() : namedSectionIds.get(section.getName());
+        return new ForumKey(sectionKey, forum.getName());
+    }
+
+    private static String nameOf(Section section) {
+        return section == null || section.getId() != null ? null : section.getName();
+    }
+
+    private static final class ForumKey {
+
+        private final long sectionKey;
+
+        private final String name;
+
+        private ForumKey(long sectionKey, String name) {
+            this.sectionKey = sectionKey;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ForumKey forumKey = (ForumKey) o;
+            return sectionKey == forumKey.sectionKey &&
+                    Objects.equals(name, forumKey.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sectionKey, name);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package gdinternshipspringapp.service.impl;
+
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import java.sql.Savepoint;
+
+/**
+ * Inserts shared reference rows on the connection of the current transaction, each in a savepoint of its own.
+ * A row that violates a unique constraint only undoes its own insert, so the transaction goes on
+ * and doesn't need a second connection from the pool to retry in.
+ */
+@Component
+public class SavepointInserter {
+
+    private final EntityManager entityManager;
+
+    public SavepointInserter(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Insert an entity right away, bypassing the persistence context, must be called inside a transaction
+     *
+     * @param entity new entity, its id is assigned by the insert
+     * @return whether the entity was inserted, false if it violates a constraint
+     */
+    public boolean insert(Object entity) {
+        Session session = entityManager.unwrap(Session.class);
+        return session.doReturningWork(connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            // a failed statement of the stateless session doesn't mark the transaction for rollback
+            try (StatelessSession inserter = session.getSessionFactory().withStatelessOptions()
+                    .connection(connection)
+                    .openStatelessSession()) {
+                // a batched insert would be left in the batch when the stateless session is closed
+                inserter.setJdbcBatchSize(1);
+                inserter.insert(entity);
+            } catch (ConstraintViolationException e) {
+                connection.rollback(savepoint);
+                return false;
+            }
+            connection.releaseSavepoint(savepoint);
+            return true;
+        });
+    }
+}
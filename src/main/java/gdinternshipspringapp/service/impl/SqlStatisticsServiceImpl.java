@@ -0,0 +1,215 @@
+package gdinternshipspringapp.service.impl;
+
+import gdinternshipspringapp.configuration.UserProperties;
+import gdinternshipspringapp.model.dto.SqlStatementStatsDto;
+import gdinternshipspringapp.service.SqlStatisticsService;
+import net.ttddyy.dsproxy.ConnectionInfo;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogic;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogicFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Collects latency histograms and row counts per statement text, statements come with placeholders
+ * instead of values, so one text stands for all executions of the same statement shape.
+ * Slow statements are logged with their parameters, only a sample of them to keep the log readable.
+ */
+@Service
+public class SqlStatisticsServiceImpl implements SqlStatisticsService, QueryExecutionListener, ResultSetProxyLogicFactory {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SqlStatisticsServiceImpl.class);
+
+    static final String OTHER_STATEMENTS = "<other statements>";
+
+    private static final String START_NANOS = SqlStatisticsServiceImpl.class.getName() + ".startNanos";
+
+    private final Map<String, StatementStatistics> statements = new ConcurrentHashMap<>();
+
+    /**
+     * The proxy wraps a result set on the executing thread right before the listeners are notified,
+     * the wrapper learns its statement when the listener is called
+     */
+    private final ThreadLocal<RowCounter> pendingRowCounter = new ThreadLocal<>();
+
+    private final UserProperties.Sql settings;
+
+    public SqlStatisticsServiceImpl(UserProperties properties) {
+        this.settings = properties.getSql();
+    }
+
+    @Override
+    public List<SqlStatementStatsDto> findSlowestStatements(Integer limit) {
+        int size = limit == null ? settings.getTopSize() : limit;
+        return statements.entrySet().stream()
+                .map(entry -> entry.getValue().toDto(entry.getKey()))
+                .sorted(Comparator.comparingDouble(SqlStatementStatsDto::getP99Millis)
+                        .thenComparingDouble(SqlStatementStatsDto::getMaxMillis)
+                        .reversed())
+                .limit(size)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // a result set fetched outside of a query execution, e.g. by getResultSet, stays uncounted
+        pendingRowCounter.remove();
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedNanos = System.nanoTime() - execInfo.getCustomValue(START_NANOS, Long.class);
+        String sql = queryInfoList.stream()
+                .map(QueryInfo::getQuery)
+                .distinct()
+                .collect(Collectors.joining("; "));
+        StatementStatistics statistics = statisticsOf(sql);
+        statistics.record(elapsedNanos, affectedRows(execInfo.getResult()));
+        RowCounter rowCounter = pendingRowCounter.get();
+        if (rowCounter != null) {
+            pendingRowCounter.remove();
+            rowCounter.statistics = statistics;
+        }
+        if (elapsedNanos >= settings.getSlowThreshold().toNanos()
+                && ThreadLocalRandom.current().nextDouble() < settings.getSlowSampleRate()) {
+            LOG.warn("Slow statement took {} ms: {} with parameters {}",
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), sql, parametersOf(queryInfoList));
+        }
+    }
+
+    @Override
+    public ResultSetProxyLogic create(ResultSet resultSet, ConnectionInfo connectionInfo, ProxyConfig proxyConfig) {
+        ResultSetProxyLogic logic = ResultSetProxyLogicFactory.DEFAULT.create(resultSet, connectionInfo, proxyConfig);
+        RowCounter rowCounter = new RowCounter();
+        pendingRowCounter.set(rowCounter);
+        return (method, args) -> {
+            Object result = logic.invoke(method, args);
+            if (Boolean.TRUE.equals(result) && "next".equals(method.getName()) && rowCounter.statistics != null) {
+                rowCounter.statistics.rows.increment();
+            }
+            return result;
+        };
+    }
+
+    private StatementStatistics statisticsOf(String sql) {
+        StatementStatistics statistics = statements.get(sql);
+        if (statistics != null) {
+            return statistics;
+        }
+        // statements built with literals would produce a new text per call, they are counted together
+        if (statements.size() >= settings.getMaxStatements()) {
+            return statements.computeIfAbsent(OTHER_STATEMENTS, key -> new StatementStatistics());
+        }
+        return statements.computeIfAbsent(sql, key -> new StatementStatistics());
+    }
+
+    private static long affectedRows(Object result) {
+        if (result instanceof Number) {
+            return Math.max(((Number) result).longValue(), 0);
+        }
+        long rows = 0;
+        if (result instanceof int[]) {
+            for (int count : (int[]) result) {
+                rows += Math.max(count, 0);
+            }
+        }
+        return rows;
+    }
+
+    private static List<List<Object>> parametersOf(List<QueryInfo> queryInfoList) {
+        return queryInfoList.stream()
+                .flatMap(queryInfo -> queryInfo.getParametersList().stream())
+                .map(operations -> operations.stream()
+                        .map(ParameterSetOperation::getArgs)
+                        .map(args -> args.length > 1 ? args[1] : null)
+                        .collect(Collectors.toList()))
+                .collect(Collectors.toList());
+    }
+
+    private static final class RowCounter {
+
+        private StatementStatistics statistics;
+    }
+
+    /**
+     * Latencies are counted in power of two buckets of microseconds, so percentiles are upper bounds
+     * which are at most twice the real value
+     */
+    static final class StatementStatistics {
+
+        private static final int BUCKETS = 40;
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder rows = new LongAdder();
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+        void record(long elapsedNanos, long affectedRows) {
+            count.increment();
+            rows.add(affectedRows);
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+            long micros = TimeUnit.NANOSECONDS.toMicros(elapsedNanos);
+            int bucket = Math.min(64 - Long.numberOfLeadingZeros(micros), BUCKETS - 1);
+            buckets.incrementAndGet(bucket);
+        }
+
+        double percentileMillis(double quantile) {
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                total += buckets.get(i);
+            }
+            long rank = (long) Math.ceil(quantile * total);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets.get(i);
+                if (seen >= rank && seen > 0) {
+                    return Math.min((1L << i) / 1000.0, toMillis(maxNanos.get()));
+                }
+            }
+            return 0;
+        }
+
+        SqlStatementStatsDto toDto(String sql) {
+            SqlStatementStatsDto statsDto = new SqlStatementStatsDto();
+            long executions = count.sum();
+            statsDto.setSql(sql);
+            statsDto.setCount(executions);
+            statsDto.setRowCount(rows.sum());
+            statsDto.setTotalMillis(toMillis(totalNanos.sum()));
+            statsDto.setMeanMillis(executions == 0 ? 0 : toMillis(totalNanos.sum()) / executions);
+            statsDto.setP50Millis(percentileMillis(0.5));
+            statsDto.setP95Millis(percentileMillis(0.95));
+            statsDto.setP99Millis(percentileMillis(0.99));
+            statsDto.setMaxMillis(toMillis(maxNanos.get()));
+            return statsDto;
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package gdinternshipspringapp.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import gdinternshipspringapp.configuration.UserProperties;
+import gdinternshipspringapp.model.entity.Tag;
+import gdinternshipspringapp.repository.TagRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves tags by their unique name, so a name used by many topics is stored once.
+ * Ids of known names are kept in memory, unknown names are looked up with one IN query
+ * and the missing ones are inserted in the transaction of the caller.
+ * Names are compared by the database, whose collation may ignore case, accents or trailing spaces,
+ * so names that differ in Java can resolve to one tag.
+ */
+@Component
+public class TagDirectory {
+
+    private final TagRepository tagRepository;
+
+    private final SavepointInserter inserter;
+
+    private final int maxAttempts;
+
+    private final Cache<String, Long> ids;
+
+    public TagDirectory(TagRepository tagRepository, SavepointInserter inserter, UserProperties properties) {
+        this.tagRepository = tagRepository;
+        this.inserter = inserter;
+        this.maxAttempts = properties.getDirectory().getMaxAttempts();
+        this.ids = Caffeine.newBuilder()
+                .maximumSize(properties.getDirectory().getMaxSize())
+                .build();
+    }
+
+    /**
+     * Find or create tags with given names, must be called inside a transaction
+     *
+     * @param names names of tags
+     * @return managed tags by given name
+     */
+    public Map<String, Tag> resolve(Collection<String> names) {
+        Map<String, Long> resolvedIds = new HashMap<>(ids.getAllPresent(names));
+        Set<String> unknown = new HashSet<>(names);
+        unknown.removeAll(resolvedIds.keySet());
+        if (!unknown.isEmpty()) {
+            resolvedIds.putAll(findOrInsert(unknown));
+        }
+        Map<String, Tag> tags = lock(resolvedIds);
+        if (tags.size() < resolvedIds.size()) {
+            // a remembered tag was deleted in the meantime, its name is resolved again
+            Set<String> deleted = new HashSet<>(resolvedIds.keySet());
+            deleted.removeAll(tags.keySet());
+            ids.invalidateAll(deleted);
+            Map<String, Long> insertedIds = findOrInsert(deleted);
+            tags.putAll(lock(insertedIds));
+        }
+        return tags;
+    }
+
+    /**
+     * Forget deleted tags
+     *
+     * @param tagIds ids of deleted tags
+     */
+    public void evict(Collection<Long> tagIds) {
+        Set<Long> deleted = new HashSet<>(tagIds);
+        ids.asMap().values().removeIf(deleted::contains);
+    }
+
+    /**
+     * Missing tags are inserted in sorted order, so creators of the same new tags wait for each other
+     * on the unique name instead of deadlocking, and a creator who loses finds the winner's row
+     */
+    private Map<String, Long> findOrInsert(Set<String> names) {
+        Map<String, Long> result = new HashMap<>();
+        tagRepository.findAndLockByNameIn(names).stream()
+                .filter(tag -> names.contains(tag.getName()))
+                .forEach(tag -> result.put(tag.getName(), tag.getId()));
+        Set<String> missing = new TreeSet<>(names);
+        missing.removeAll(result.keySet());
+        missing.forEach(name -> result.put(name, insertOrFind(name)));
+        ids.putAll(result);
+        return result;
+    }
+
+    /**
+     * A name without an exact match may still be taken by a tag the collation considers equal,
+     * its insert fails then and that tag is found by the name
+     */
+    private Long insertOrFind(String name) {
+        for (int attempt = 1; ; attempt++) {
+            Tag tag = createTag(name);
+            if (inserter.insert(tag)) {
+                return tag.getId();
+            }
+            Optional<Tag> existing = tagRepository.findAndLockByNameIn(Collections.singleton(name)).stream().findFirst();
+            if (existing.isPresent()) {
+                return existing.get().getId();
+            }
+            if (attempt >= maxAttempts) {
+                throw new DataIntegrityViolationException("Tag " + name + " can't be inserted");
+            }
+        }
+    }
+
+    /**
+     * Locking read by id, it keeps the tags from being deleted until this transaction links them to topics
+     */
+    private Map<String, Tag> lock(Map<String, Long> resolvedIds) {
+        Map<Long, Tag> found = tagRepository.findAndLockByIdIn(new HashSet<>(resolvedIds.values())).stream()
+                .collect(Collectors.toMap(Tag::getId, Function.identity()));
+        Map<String, Tag> tags = new HashMap<>();
+        resolvedIds.forEach((name, id) -> {
+            Tag tag = found.get(id);
+            if (tag != null) {
+                tags.put(name, tag);
+            }
+        });
+        return tags;
+    }
+
+    private static Tag createTag(String name) {
+        Tag tag = new Tag();
+        tag.setName(name);
+        return tag;
+    }
+}
@@ -0,0 +1,68 @@
+package gdinternshipspringapp.service.impl;
+
+import gdinternshipspringapp.exception.ServiceException;
+import gdinternshipspringapp.model.entity.User;
+import gdinternshipspringapp.model.projection.UserSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static gdinternshipspringapp.exception.errorCode.UserServiceErrorCode.INVALID_PAGE_TOKEN;
+
+/**
+ * Position of the last user of a page in the (name, id) ordering.
+ * Encoded as an opaque url-safe token, so clients can't depend on its content.
+ * A null name is encoded as a flag after the id, so it isn't confused with the name "null".
+ */
+public final class UserCursor {
+
+    private static final char SEPARATOR = ':';
+
+    private static final char NULL_NAME = '~';
+
+    private final Long id;
+
+    private final String name;
+
+    private UserCursor(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public static UserCursor of(User user) {
+        return new UserCursor(user.getId(), user.getName());
+    }
+
+    public static UserCursor of(UserSummary summary) {
+        return new UserCursor(summary.getId(), summary.getName());
+    }
+
+    public static UserCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            if (separator < 0 && value.length() > 1 && value.charAt(value.length() - 1) == NULL_NAME) {
+                return new UserCursor(Long.valueOf(value.substring(0, value.length() - 1)), null);
+            }
+            if (separator < 1) {
+                throw new ServiceException(INVALID_PAGE_TOKEN);
+            }
+            return new UserCursor(Long.valueOf(value.substring(0, separator)), value.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new ServiceException(e, INVALID_PAGE_TOKEN);
+        }
+    }
+
+    public String encode() {
+        String value = name == null ? String.valueOf(id) + NULL_NAME : String.valueOf(id) + SEPARATOR + name;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,99 @@
+package gdinternshipspringapp.service.impl;
+
+import gdinternshipspringapp.configuration.UserProperties;
+import gdinternshipspringapp.exception.ServiceException;
+import gdinternshipspringapp.model.dto.UserDto;
+import gdinternshipspringapp.model.dto.UserImportResultDto;
+import gdinternshipspringapp.model.dto.UserImportSummaryDto;
+import gdinternshipspringapp.service.UserImportService;
+import gdinternshipspringapp.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static gdinternshipspringapp.exception.errorCode.UserServiceErrorCode.IMPORT_INPUT_MALFORMED;
+import static gdinternshipspringapp.exception.errorCode.UserServiceErrorCode.USER_NOT_CREATED;
+
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UserImportServiceImpl.class);
+
+    private final UserService userService;
+
+    private final UserProperties properties;
+
+    public UserImportServiceImpl(UserService userService, UserProperties properties) {
+        this.userService = userService;
+        this.properties = properties;
+    }
+
+    @Override
+    public UserImportSummaryDto importUsers(Iterator<UserDto> users) {
+        int chunkSize = properties.getImport().getChunkSize();
+        UserImportSummaryDto summary = new UserImportSummaryDto();
+        List<UserDto> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        while (true) {
+            UserDto user;
+            try {
+                if (!users.hasNext()) {
+                    break;
+                }
+                user = users.next();
+            } catch (RuntimeException e) {
+                LOG.warn("Import input is unreadable after {} items", index, e);
+                importChunk(chunk, index - chunk.size(), summary);
+                summary.add(failed(index, new ServiceException(e, IMPORT_INPUT_MALFORMED)));
+                return summary;
+            }
+            chunk.add(user);
+            index++;
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, index - chunk.size(), summary);
+                chunk.clear();
+            }
+        }
+        importChunk(chunk, index - chunk.size(), summary);
+        return summary;
+    }
+
+    private void importChunk(List<UserDto> chunk, int firstIndex, UserImportSummaryDto summary) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<Long> ids;
+        try {
+            ids = userService.createUsers(chunk);
+        } catch (RuntimeException e) {
+            LOG.warn("Chunk starting at {} failed, retrying its users one by one", firstIndex, e);
+            importOneByOne(chunk, firstIndex, summary);
+            return;
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            summary.add(UserImportResultDto.created(firstIndex + i, ids.get(i)));
+        }
+    }
+
+    private void importOneByOne(List<UserDto> chunk, int firstIndex, UserImportSummaryDto summary) {
+        for (int i = 0; i < chunk.size(); i++) {
+            try {
+                UserDto created = userService.createUser(chunk.get(i));
+                summary.add(UserImportResultDto.created(firstIndex + i, created.getId()));
+            } catch (ServiceException e) {
+                summary.add(failed(firstIndex + i, e));
+            } catch (RuntimeException e) {
+                LOG.warn("User {} of the import can't be created", firstIndex + i, e);
+                summary.add(failed(firstIndex + i, new ServiceException(e, USER_NOT_CREATED)));
+            }
+        }
+    }
+
+    private static UserImportResultDto failed(int index, ServiceException error) {
+        return UserImportResultDto.failed(index, error.getCode());
+    }
+}
@@ -1,17 +1,37 @@
 package gdinternshipspringapp.service.impl;
 
+import static gdinternshipspringapp.configuration.UserCacheConfiguration.UNLESS_READ_FROM_REPLICA;
+import static gdinternshipspringapp.configuration.UserCacheConfiguration.USER_CACHE;
 import static gdinternshipspringapp.exception.errorCode.UserServiceErrorCode.USER_NOT_EXIST;
+import static gdinternshipspringapp.exception.errorCode.UserServiceErrorCode.VERSION_MISMATCH;
+
+import gdinternshipspringapp.configuration.UserProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import gdinternshipspringapp.exception.ServiceException;
 import gdinternshipspringapp.model.dto.*;
 import gdinternshipspringapp.model.entity.*;
+import gdinternshipspringapp.model.projection.UserSummary;
 import gdinternshipspringapp.repository.*;
 import gdinternshipspringapp.service.UserService;
 import gdinternshipspringapp.converter.UserConverter;
 
+import javax.persistence.EntityManager;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -35,10 +55,25 @@ public class UserServiceImpl implements UserService {
 
     private final UserConverter converter;
 
+    private final UserProperties properties;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TagDirectory tagDirectory;
+
+    private final ForumDirectory forumDirectory;
+
+    private final ObjectProvider<CacheManager> cacheManager;
+
     public UserServiceImpl(UserRepository userRepository, TopicRepository topicRepository, TagRepository tagRepository,
                            SectionRepository sectionRepository, PostRepository postRepository,
                            PicRepository picRepository, ForumRepository forumRepository,
-                           CommentRepository commentRepository, UserConverter converter) {
+                           CommentRepository commentRepository, UserConverter converter, UserProperties properties,
+                           EntityManager entityManager, PlatformTransactionManager transactionManager,
+                           TagDirectory tagDirectory, ForumDirectory forumDirectory,
+                           ObjectProvider<CacheManager> cacheManager) {
         this.userRepository = userRepository;
         this.topicRepository = topicRepository;
         this.tagRepository = tagRepository;
@@ -48,77 +83,303 @@ public class UserServiceImpl implements UserService {
         this.forumRepository = forumRepository;
         this.commentRepository = commentRepository;
         this.converter = converter;
+        this.properties = properties;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tagDirectory = tagDirectory;
+        this.forumDirectory = forumDirectory;
+        this.cacheManager = cacheManager;
     }
 
-    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Transactional(readOnly = true)
     @Override
     public List<UserDto> findAll() {
         List<User> users = userRepository.findByOrderByNameAsc();
+        fetchAggregates(users);
         return converter.toUserDtos(users);
     }
 
-    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Transactional(readOnly = true)
+    @Override
+    public PageDto<UserDto> findPage(String token, Integer size, boolean withTotal) {
+        int pageSize = resolvePageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<User> users;
+        if (token == null || token.isEmpty()) {
+            users = userRepository.findByOrderByNameAscIdAsc(limit);
+        } else {
+            UserCursor cursor = UserCursor.decode(token);
+            users = userRepository.findPageAfter(cursor.getName(), cursor.getId(), limit);
+        }
+        String nextToken = null;
+        if (users.size() > pageSize) {
+            users = users.subList(0, pageSize);
+            nextToken = UserCursor.of(users.get(pageSize - 1)).encode();
+        }
+        fetchAggregates(users);
+        Long approximateTotal = withTotal ? estimateTotal() : null;
+        return new PageDto<>(converter.toUserDtos(users), nextToken, approximateTotal);
+    }
+
+    private Long estimateTotal() {
+        return properties.getPage().isEstimateTotal() ? userRepository.estimateCount() : userRepository.count();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public PageDto<UserSummary> findSummaryPage(String token, Integer size) {
+        int pageSize = resolvePageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<UserSummary> summaries;
+        if (token == null || token.isEmpty()) {
+            summaries = userRepository.findSummaries(limit);
+        } else {
+            UserCursor cursor = UserCursor.decode(token);
+            summaries = userRepository.findSummariesAfter(cursor.getName(), cursor.getId(), limit);
+        }
+        String nextToken = null;
+        if (summaries.size() > pageSize) {
+            summaries = summaries.subList(0, pageSize);
+            nextToken = UserCursor.of(summaries.get(pageSize - 1)).encode();
+        }
+        return new PageDto<>(summaries, nextToken, null);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void streamAll(Consumer<UserDto> consumer) {
+        int clearInterval = properties.getStream().getClearInterval();
+        try (Stream<User> users = userRepository.streamAllByOrderByNameAscIdAsc()) {
+            Iterator<User> iterator = users.iterator();
+            int count = 0;
+            while (iterator.hasNext()) {
+                consumer.accept(converter.toUserDto(iterator.next()));
+                if (clearInterval > 0 && ++count % clearInterval == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    @Cacheable(cacheNames = USER_CACHE, key = "#id", unless = UNLESS_READ_FROM_REPLICA)
+    @Transactional(readOnly = true)
     @Override
     public UserDto findUserById(Long id) {
-        User user = userRepository.findById(id)
+        List<Long> ids = Collections.singletonList(id);
+        List<User> users = userRepository.fetchTopicsByIdIn(ids);
+        if (users.isEmpty()) {
+            throw new ServiceException(USER_NOT_EXIST);
+        }
+        // fetched into the same persistence context, so they initialize collections of the found user
+        userRepository.fetchPostsByIdIn(ids);
+        userRepository.fetchCommentsByIdIn(ids);
+        return converter.toUserDto(users.get(0));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Long findVersionById(Long id) {
+        return userRepository.findVersionById(id)
                 .orElseThrow(() -> new ServiceException(USER_NOT_EXIST));
-        return converter.toUserDto(user);
     }
 
     @Override
     public UserDto createUser(UserDto userDto) {
-        User user = converter.toUser(userDto);
-        Set<Post> posts = user.getPosts();
-        posts.forEach(post -> {
-            picRepository.saveAll(post.getPics());
-            commentRepository.saveAll(post.getComments());
-        });
-        postRepository.saveAll(posts);
+        User savedUser = persist(converter.toUser(userDto));
+        return converter.toUserDto(savedUser);
+    }
+
+    @Override
+    public List<Long> createUsers(List<UserDto> userDtos) {
+        int flushInterval = properties.getImport().getFlushInterval();
+        List<User> users = converter.toUsers(userDtos);
+        List<Long> ids = new ArrayList<>(users.size());
+        for (User user : users) {
+            ids.add(persist(user).getId());
+            if (flushInterval > 0 && ids.size() % flushInterval == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return ids;
+    }
+
+    private Long applyPatch(Long id, UserPatchDto patch, Long expectedVersion) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ServiceException(USER_NOT_EXIST));
+        if (expectedVersion != null && !expectedVersion.equals(user.getVersion())) {
+            throw new ServiceException(VERSION_MISMATCH);
+        }
+        if (patch.getName() != null) {
+            user.setName(patch.getName());
+        }
+        if (patch.getEmail() != null) {
+            user.setEmail(patch.getEmail());
+        }
+        if (patch.getLogin() != null) {
+            user.setLogin(patch.getLogin());
+        }
+        if (patch.getPassword() != null) {
+            user.setPassword(patch.getPassword());
+        }
+        if (patch.getRole() != null) {
+            user.setRole(patch.getRole());
+        }
+        userRepository.flush();
+        return user.getVersion();
+    }
+
+    /**
+     * A tag is identified by its name, nameless tags are not stored
+     */
+    private Map<String, Tag> resolveTags(Set<Topic> topics) {
+        Set<String> names = topics.stream()
+                .flatMap(topic -> topic.getTags().stream())
+                .map(Tag::getName)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return names.isEmpty() ? Collections.emptyMap() : tagDirectory.resolve(names);
+    }
+
+    private User persist(User user) {
+        // parents are persisted before children, so every insert already carries its foreign keys
+        // and hibernate can batch them by entity type instead of patching them with updates at flush
+        // a user without version is always new, an id sent by the client would make persist reject it
+        user.setId(null);
+        User savedUser = userRepository.save(user);
         Set<Topic> topics = user.getTopics();
+        Map<String, Tag> tags = resolveTags(topics);
+        Map<Forum, Forum> forums = topics.isEmpty() ? Collections.emptyMap()
+                : forumDirectory.resolve(topics.stream().map(Topic::getForum).collect(Collectors.toList()));
         topics.forEach(topic -> {
-            Forum forum = topic.getForum();
-            Section section = forum.getSection();
-            sectionRepository.save(section);
-            forumRepository.save(forum);
-            Set<Tag> tags = topic.getTags();
-            tagRepository.saveAll(tags);
+            topic.setForum(forums.get(topic.getForum()));
+            topic.setTags(topic.getTags().stream()
+                    .filter(tag -> tag.getName() != null)
+                    .map(tag -> tags.get(tag.getName()))
+                    .collect(Collectors.toSet()));
         });
         topicRepository.saveAll(topics);
-        User savedUser = userRepository.save(user);
-        return converter.toUserDto(savedUser);
+        Set<Post> posts = user.getPosts();
+        postRepository.saveAll(posts);
+        posts.forEach(post -> picRepository.saveAll(post.getPics()));
+        commentRepository.saveAll(user.getComments());
+        return savedUser;
     }
 
+    @CacheEvict(cacheNames = USER_CACHE, key = "#id")
     @Override
-    public UserDto updateUser(Long id, UserDto userDto) {
-        User updateUser = converter.toUser(userDto);
+    public UserDto updateUser(Long id, UserDto userDto, Long expectedVersion) {
         User loadUser = userRepository.findById(id)
                 .orElseThrow(() -> new ServiceException(USER_NOT_EXIST));
-        loadUser.setName(updateUser.getName());
-        loadUser.setEmail(updateUser.getEmail());
-        loadUser.setLogin(updateUser.getLogin());
-        loadUser.setPassword(updateUser.getPassword());
-        loadUser.setRole(updateUser.getRole());
+        if (expectedVersion != null && !expectedVersion.equals(loadUser.getVersion())) {
+            throw new ServiceException(VERSION_MISMATCH);
+        }
+        loadUser.setName(userDto.getName());
+        loadUser.setEmail(userDto.getEmail());
+        loadUser.setLogin(userDto.getLogin());
+        loadUser.setPassword(userDto.getPassword());
+        loadUser.setRole(userDto.getRole());
+        // flushed here so that the returned version is the one the update produced
+        userRepository.flush();
         return converter.toUserDto(loadUser);
     }
 
+    /**
+     * Each attempt is a transaction of its own, a patch without If-Match is retried on a concurrent update,
+     * because it only changes the supplied fields and can be applied on top of the other change
+     */
+    @CacheEvict(cacheNames = USER_CACHE, key = "#id")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Override
+    public Long patchUser(Long id, UserPatchDto patch, Long expectedVersion) {
+        int maxAttempts = expectedVersion == null ? properties.getPatch().getMaxAttempts() : 1;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> applyPatch(id, patch, expectedVersion));
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    @CacheEvict(cacheNames = USER_CACHE, key = "#id")
     @Override
     public void deleteUserById(Long id) {
-        User loadUser = userRepository.findById(id)
-                .orElseThrow(() -> new ServiceException(USER_NOT_EXIST));
-        loadUser.getComments().forEach(commentRepository::delete);
-        loadUser.getPosts().forEach(post -> {
-            post.getPics().forEach(picRepository::delete);
-            postRepository.delete(post);
-        });
-        loadUser.getTopics().forEach(topic -> {
-            Forum forum = topic.getForum();
-            Section section = forum.getSection();
-            forumRepository.delete(forum);
-            sectionRepository.delete(section);
-            topic.getTags().forEach(tagRepository::delete);
-            topicRepository.delete(topic);
-        });
-        userRepository.delete(loadUser);
+        if (!userRepository.existsById(id)) {
+            throw new ServiceException(USER_NOT_EXIST);
+        }
+        // other users lose their posts in topics of the user and their comments under deleted posts
+        Set<Long> affectedUserIds = new HashSet<>(postRepository.findOtherAuthorIdsInTopicsOfUser(id));
+        affectedUserIds.addAll(commentRepository.findOtherAuthorIdsOnPostsOfUser(id));
+        // reference data is collected before the links to it are gone
+        List<Long> tagIds = tagRepository.findIdsOfUserTopics(id);
+        List<Long> forumIds = forumRepository.findIdsOfUserTopics(id);
+        List<Long> sectionIds = sectionRepository.findIdsOfUserTopics(id);
+        commentRepository.deleteAllOfUser(id);
+        picRepository.deleteAllOfUser(id);
+        postRepository.deleteAllOfUser(id);
+        topicRepository.deleteAllOfUser(id);
+        if (!tagIds.isEmpty()) {
+            List<Long> unusedTagIds = tagRepository.findUnusedIdsIn(tagIds);
+            if (!unusedTagIds.isEmpty()) {
+                tagRepository.deleteBulkByIdIn(unusedTagIds);
+                tagDirectory.evict(unusedTagIds);
+            }
+        }
+        if (!forumIds.isEmpty()) {
+            forumRepository.deleteUnusedByIdIn(forumIds);
+        }
+        if (!sectionIds.isEmpty()) {
+            sectionRepository.deleteUnusedByIdIn(sectionIds);
+        }
+        if (!forumIds.isEmpty() || !sectionIds.isEmpty()) {
+            forumDirectory.evict(forumIds, sectionIds);
+        }
+        userRepository.deleteBulkById(id);
+        if (!affectedUserIds.isEmpty()) {
+            // their ETags change with the content they lost
+            userRepository.incrementVersionByIdIn(affectedUserIds);
+        }
+        evictCachedUsers(affectedUserIds);
+    }
+
+    /**
+     * The cache is transaction aware, so users are evicted after commit
+     */
+    private void evictCachedUsers(Collection<Long> ids) {
+        CacheManager manager = cacheManager.getIfAvailable();
+        Cache cache = manager == null || ids.isEmpty() ? null : manager.getCache(USER_CACHE);
+        if (cache != null) {
+            ids.forEach(cache::evict);
+        }
+    }
+
+    /**
+     * Initialize collections of already loaded users with IN queries, three per chunk of ids
+     *
+     * @param users managed users
+     */
+    private void fetchAggregates(List<User> users) {
+        int inSize = properties.getFetch().getInSize();
+        List<Long> ids = users.stream().map(User::getId).collect(Collectors.toList());
+        for (int from = 0; from < ids.size(); from += inSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + inSize, ids.size()));
+            userRepository.fetchTopicsByIdIn(chunk);
+            userRepository.fetchPostsByIdIn(chunk);
+            userRepository.fetchCommentsByIdIn(chunk);
+        }
+    }
+
+    private int resolvePageSize(Integer size) {
+        UserProperties.Page page = properties.getPage();
+        if (size == null || size < 1) {
+            return page.getDefaultSize();
+        }
+        return Math.min(size, page.getMaxSize());
     }
 
 }
@@ -0,0 +1,203 @@
+package gdinternshipspringapp.integrationTest;
+
+import gdinternshipspringapp.configuration.UserProperties;
+import gdinternshipspringapp.converter.impl.DirectUserConverterImpl;
+import gdinternshipspringapp.model.dto.UserDto;
+import gdinternshipspringapp.model.entity.Forum;
+import gdinternshipspringapp.model.entity.Section;
+import gdinternshipspringapp.repository.ForumRepository;
+import gdinternshipspringapp.repository.SectionRepository;
+import gdinternshipspringapp.service.UserService;
+import gdinternshipspringapp.service.impl.ForumDirectory;
+import gdinternshipspringapp.service.impl.SavepointInserter;
+import gdinternshipspringapp.service.impl.TagDirectory;
+import gdinternshipspringapp.service.impl.UserServiceImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import static gdinternshipspringapp.support.UserDtoBuilder.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics = true")
+@Import({UserServiceImpl.class, DirectUserConverterImpl.class, TagDirectory.class, SavepointInserter.class,
+        ForumDirectory.class})
+@EnableConfigurationProperties(UserProperties.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ForumDeduplicationTest {
+
+    @Autowired
+    private UserService service;
+
+    @Autowired
+    private ForumRepository forumRepository;
+
+    @Autowired
+    private SectionRepository sectionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void givenTwoUsersInSameForum_whenCreate_thenOneForumAndSectionStored() {
+        //given
+        UserDto first = user("Alex").topic("Shared Section", "Shared Forum").build();
+        UserDto second = user("John").topic("Shared Section", "Shared Forum").build();
+
+        //when
+        Long firstId = service.createUser(first).getId();
+        Long secondId = service.createUser(second).getId();
+
+        //then
+        assertThat(countSections("Shared Section")).isEqualTo(1);
+        assertThat(countForums("Shared Forum")).isEqualTo(1);
+        assertThat(forumIdOf(firstId)).isEqualTo(forumIdOf(secondId));
+    }
+
+    @Test
+    public void givenExistingForum_whenCreate_thenNoSectionOrForumWritten() {
+        //given
+        Long firstId = service.createUser(user("Alex").topic("Existing Section", "Existing Forum").build()).getId();
+        UserDto second = user("John").topic("Existing Section", "Existing Forum").build();
+
+        //when
+        statistics.clear();
+        Long secondId = service.createUser(second).getId();
+
+        //then
+        assertThat(statistics.getEntityStatistics(Section.class.getName()).getInsertCount()).isZero();
+        assertThat(statistics.getEntityStatistics(Section.class.getName()).getUpdateCount()).isZero();
+        assertThat(statistics.getEntityStatistics(Forum.class.getName()).getInsertCount()).isZero();
+        assertThat(statistics.getEntityStatistics(Forum.class.getName()).getUpdateCount()).isZero();
+        assertThat(forumIdOf(firstId)).isEqualTo(forumIdOf(secondId));
+    }
+
+    @Test
+    public void givenForumId_whenCreate_thenForumReused() {
+        //given
+        Long firstId = service.createUser(user("Alex").topic("Id Section", "Id Forum").build()).getId();
+        UserDto second = user("John").topic(null, null).build();
+        second.getTopics().iterator().next().getForum().setId(forumIdOf(firstId));
+
+        //when
+        Long secondId = service.createUser(second).getId();
+
+        //then
+        assertThat(forumIdOf(secondId)).isEqualTo(forumIdOf(firstId));
+        assertThat(countForums("Id Forum")).isEqualTo(1);
+    }
+
+    @Test
+    public void givenNewForumInCachedSection_whenCreate_thenSectionForumsUpToDate() {
+        //given
+        service.createUser(user("Alex").topic("Cached Section", "First Forum").build());
+        Long sectionId = sectionRepository.findFirstByName("Cached Section").orElseThrow(AssertionError::new).getId();
+        assertThat(forumNamesOf(sectionId)).containsExactly("First Forum");
+
+        //when
+        service.createUser(user("John").topic("Cached Section", "Second Forum").build());
+
+        //then
+        assertThat(forumNamesOf(sectionId)).containsExactlyInAnyOrder("First Forum", "Second Forum");
+    }
+
+    @Test
+    public void givenConcurrentCreators_whenCreateInSameNewForum_thenOneForumStored() throws Exception {
+        //given
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            UserDto userDto = user("User" + i).topic("Concurrent Section", "Concurrent Forum").build();
+            futures.add(executor.submit(() -> {
+                start.await();
+                return service.createUser(userDto).getId();
+            }));
+        }
+
+        //when
+        start.countDown();
+        List<Long> ids = new ArrayList<>();
+        for (Future<Long> future : futures) {
+            ids.add(future.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        //then
+        assertThat(countSections("Concurrent Section")).isEqualTo(1);
+        assertThat(countForums("Concurrent Forum")).isEqualTo(1);
+        assertThat(ids.stream().map(this::forumIdOf).distinct()).hasSize(1);
+    }
+
+    @Test
+    public void givenConcurrentCreators_whenCreateInSameNewForumWithoutSection_thenOneForumStored() throws Exception {
+        //given
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            UserDto userDto = user("Loner" + i).topic(null, "Sectionless Forum").build();
+            futures.add(executor.submit(() -> {
+                start.await();
+                return service.createUser(userDto).getId();
+            }));
+        }
+
+        //when
+        start.countDown();
+        List<Long> ids = new ArrayList<>();
+        for (Future<Long> future : futures) {
+            ids.add(future.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        //then
+        assertThat(countForums("Sectionless Forum")).isEqualTo(1);
+        assertThat(ids.stream().map(this::forumIdOf).distinct()).hasSize(1);
+    }
+
+    private long countSections(String name) {
+        return sectionRepository.findAll().stream().filter(section -> name.equals(section.getName())).count();
+    }
+
+    private long countForums(String name) {
+        return forumRepository.findAll().stream().filter(forum -> name.equals(forum.getName())).count();
+    }
+
+    private Long forumIdOf(Long userId) {
+        return service.findUserById(userId).getTopics().iterator().next().getForum().getId();
+    }
+
+    private Set<String> forumNamesOf(Long sectionId) {
+        return new TransactionTemplate(transactionManager).execute(status ->
+                sectionRepository.findById(sectionId).orElseThrow(AssertionError::new).getForums().stream()
+                        .map(Forum::getName)
+                        .collect(Collectors.toSet()));
+    }
+}
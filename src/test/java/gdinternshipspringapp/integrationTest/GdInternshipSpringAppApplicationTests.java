@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import gdinternshipspringapp.GdInternshipSpringAppApplication;
 import gdinternshipspringapp.controller.UserController;
+import gdinternshipspringapp.model.dto.PageDto;
 import gdinternshipspringapp.model.dto.UserDto;
 import gdinternshipspringapp.model.entity.*;
 import gdinternshipspringapp.service.UserService;
@@ -99,7 +100,7 @@ class GdInternshipSpringAppApplicationTests {
                 "Bearer " + generateToken("user1", "A123a!"));
         savedDto = service.createUser(userDto);
         HttpEntity<Object> requestEntity = new HttpEntity<>(requestHeaders);
-        ParameterizedTypeReference<List<UserDto>> parameterizedTypeReference =
+        ParameterizedTypeReference<PageDto<UserDto>> parameterizedTypeReference =
                 new ParameterizedTypeReference<>() {
                 };
         UriComponents uriComponents = UriComponentsBuilder.newInstance()
@@ -110,7 +111,7 @@ class GdInternshipSpringAppApplicationTests {
                 .build();
 
         //when
-        ResponseEntity<List<UserDto>> response = restTemplate.exchange(
+        ResponseEntity<PageDto<UserDto>> response = restTemplate.exchange(
                 uriComponents.toUri(),
                 HttpMethod.GET,
                 requestEntity,
@@ -118,7 +119,7 @@ class GdInternshipSpringAppApplicationTests {
         );
 
         // then
-        List<UserDto> actualUserList = response.getBody();
+        List<UserDto> actualUserList = response.getBody().getContent();
         assertThat(response.getStatusCode()).isEqualByComparingTo(HttpStatus.OK);
         assertThat(response.getHeaders()
                 .getFirst("Content-Type")).isEqualToIgnoringCase("application/json");
@@ -0,0 +1,99 @@
+package gdinternshipspringapp.integrationTest;
+
+import gdinternshipspringapp.configuration.DataSourceProxyConfiguration;
+import gdinternshipspringapp.configuration.LazyLoadDetectionConfiguration;
+import gdinternshipspringapp.configuration.UserProperties;
+import gdinternshipspringapp.converter.impl.DirectUserConverterImpl;
+import gdinternshipspringapp.model.dto.UserDto;
+import gdinternshipspringapp.monitoring.RequestPhaseTracker;
+import gdinternshipspringapp.repository.UserRepository;
+import gdinternshipspringapp.service.UserService;
+import gdinternshipspringapp.service.impl.ForumDirectory;
+import gdinternshipspringapp.service.impl.SavepointInserter;
+import gdinternshipspringapp.service.impl.TagDirectory;
+import gdinternshipspringapp.service.impl.UserServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static gdinternshipspringapp.support.UserDtoBuilder.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "users.lazy-load.mode = fail")
+@Import({DataSourceProxyConfiguration.class, LazyLoadDetectionConfiguration.class, UserServiceImpl.class,
+        DirectUserConverterImpl.class, TagDirectory.class, SavepointInserter.class, ForumDirectory.class})
+@ImportAutoConfiguration(AopAutoConfiguration.class)
+@EnableConfigurationProperties(UserProperties.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ExtendWith(OutputCaptureExtension.class)
+class LazyLoadDetectionTest {
+
+    @Autowired
+    private RequestPhaseTracker tracker;
+
+    @Autowired
+    private UserService service;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    public void givenRequest_whenUserReadByService_thenNothingReported(CapturedOutput output) {
+        //given
+        Long id = service.createUser(user("Alex").build()).getId();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/" + id);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        tracker.preHandle(request, response, null);
+
+        //when
+        UserDto userDto = service.findUserById(id);
+        tracker.afterCompletion(request, response, null, null);
+
+        //then
+        assertThat(userDto.getLogin()).isEqualTo("alex");
+        assertThat(output).doesNotContain("outside the service layer");
+    }
+
+    @Test
+    public void givenRequest_whenRepositoryCalledOutsideService_thenStatementFailsAndReported(CapturedOutput output) {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        tracker.preHandle(request, response, null);
+
+        //when
+        assertThatThrownBy(() -> userRepository.findAll())
+                .hasStackTraceContaining("GET /users executed a statement in CONTROLLER phase outside the service layer");
+        tracker.afterCompletion(request, response, null, null);
+
+        //then
+        assertThat(output).contains("GET /users executed 1 statements outside the service layer");
+    }
+
+    @Test
+    public void givenRequestGoneAsync_whenRepositoryCalledOnSameThread_thenNotAttributedToRequest() {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        tracker.preHandle(request, response, null);
+        tracker.afterConcurrentHandlingStarted(request, response, null);
+
+        //when
+        userRepository.findAll();
+
+        //then
+        assertThat(tracker.current()).isNull();
+    }
+}
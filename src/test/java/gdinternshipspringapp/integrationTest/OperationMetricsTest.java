@@ -0,0 +1,67 @@
+package gdinternshipspringapp.integrationTest;
+
+import gdinternshipspringapp.model.dto.UserDto;
+import gdinternshipspringapp.model.entity.Role;
+import gdinternshipspringapp.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.web.server.LocalManagementPort;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs with the management settings of the application, only the database is replaced
+ * and the management port is a free one
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "file:src/main/resources/application.properties", properties = {
+        "spring.datasource.driver-class-name = org.h2.Driver",
+        "spring.datasource.url = jdbc:h2:mem:metrics;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username = sa",
+        "spring.datasource.password = ",
+        "management.server.port = 0"})
+@AutoConfigureMetrics
+class OperationMetricsTest {
+
+    @Autowired
+    private UserService service;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    private final TestRestTemplate restTemplate = new TestRestTemplate();
+
+    @Test
+    public void givenUserCreatedAndFound_whenScrapedOverHttp_thenOperationPoolAndHibernateMetricsExported() {
+        //given
+        UserDto userDto = new UserDto();
+        userDto.setName("Alex");
+        userDto.setLogin("al");
+        userDto.setRole(Role.USER);
+        Long id = service.createUser(userDto).getId();
+        service.findUserById(id);
+
+        //when
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://127.0.0.1:" + managementPort + "/actuator/prometheus", String.class);
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody())
+                .contains("users_service_seconds_bucket{class=\"UserServiceImpl\",exception=\"none\",method=\"createUser\"")
+                .contains("users_service_seconds_count{class=\"UserServiceImpl\",exception=\"none\",method=\"findUserById\",} 1.0")
+                .contains("users_converter_seconds_count{class=\"DirectUserConverterImpl\",exception=\"none\",method=\"toUser\"")
+                .contains("hikaricp_connections_acquire_seconds_bucket")
+                .contains("hikaricp_connections_usage_seconds_count")
+                .contains("hibernate_query_executions_total")
+                .contains("hibernate_entities_loads_total")
+                .contains("hibernate_collections_fetches_total")
+                .contains("hibernate_second_level_cache_requests_total");
+    }
+}
@@ -0,0 +1,113 @@
+package gdinternshipspringapp.integrationTest;
+
+import gdinternshipspringapp.configuration.ReferenceCacheConfiguration;
+import gdinternshipspringapp.configuration.UserCacheConfiguration;
+import gdinternshipspringapp.configuration.UserProperties;
+import gdinternshipspringapp.converter.UserConverter;
+import gdinternshipspringapp.model.dto.CacheStatsDto;
+import gdinternshipspringapp.model.entity.Forum;
+import gdinternshipspringapp.model.entity.Section;
+import gdinternshipspringapp.model.entity.Tag;
+import gdinternshipspringapp.repository.ForumRepository;
+import gdinternshipspringapp.repository.SectionRepository;
+import gdinternshipspringapp.repository.TagRepository;
+import gdinternshipspringapp.service.CacheStatisticsService;
+import gdinternshipspringapp.service.UserService;
+import gdinternshipspringapp.service.impl.CacheStatisticsServiceImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache = true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class = jcache",
+        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy = fail",
+        "spring.jpa.properties.hibernate.generate_statistics = true"})
+@Import({ReferenceCacheConfiguration.class, UserCacheConfiguration.class, CacheStatisticsServiceImpl.class})
+@EnableConfigurationProperties(UserProperties.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReferenceCacheTest {
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private UserConverter userConverter;
+
+    @Autowired
+    private SectionRepository sectionRepository;
+
+    @Autowired
+    private ForumRepository forumRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void givenLoadedReferenceData_whenLoadedAgain_thenServedFromCache() {
+        //given
+        Section section = new Section();
+        section.setName("Cold steel and projectile weapons");
+        Forum forum = new Forum();
+        forum.setName("Sharpening of cutting tool");
+        forum.setSection(section);
+        Tag tag = new Tag();
+        tag.setName("Washita");
+        sectionRepository.save(section);
+        forumRepository.save(forum);
+        tagRepository.save(tag);
+        load(section.getId(), forum.getId(), tag.getId());
+
+        //when
+        statistics.clear();
+        int forums = load(section.getId(), forum.getId(), tag.getId());
+
+        //then
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(forums).isEqualTo(1);
+        assertThat(cacheStatisticsService.findReferenceCacheStatistics())
+                .filteredOn(stats -> !stats.getName().endsWith(".tags"))
+                .allSatisfy(stats -> assertThat(stats.getHitCount()).isPositive())
+                .extracting(CacheStatsDto::getName)
+                .containsExactlyElementsOf(ReferenceCacheConfiguration.REGIONS.subList(0, 4));
+    }
+
+    private int load(Long sectionId, Long forumId, Long tagId) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            int forums = sectionRepository.findById(sectionId).orElseThrow(AssertionError::new).getForums().size();
+            forumRepository.findById(forumId).orElseThrow(AssertionError::new);
+            tagRepository.findById(tagId).orElseThrow(AssertionError::new);
+            return forums;
+        });
+    }
+}
@@ -0,0 +1,151 @@
+package gdinternshipspringapp.integrationTest;
+
+import gdinternshipspringapp.configuration.ReplicaRoutingConfiguration;
+import gdinternshipspringapp.configuration.UserCacheConfiguration;
+import gdinternshipspringapp.configuration.UserProperties;
+import gdinternshipspringapp.converter.impl.DirectUserConverterImpl;
+import gdinternshipspringapp.exception.ServiceException;
+import gdinternshipspringapp.model.dto.UserDto;
+import gdinternshipspringapp.service.UserService;
+import gdinternshipspringapp.service.impl.ForumDirectory;
+import gdinternshipspringapp.service.impl.SavepointInserter;
+import gdinternshipspringapp.service.impl.TagDirectory;
+import gdinternshipspringapp.service.impl.UserServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static gdinternshipspringapp.support.UserDtoBuilder.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+        "spring.datasource.driver-class-name = org.h2.Driver",
+        "spring.datasource.url = " + ReplicaRoutingTest.PRIMARY_URL,
+        "spring.datasource.username = sa",
+        "spring.datasource.password = ",
+        "users.routing.replicas[0].url = " + ReplicaRoutingTest.REPLICA_URL,
+        "users.routing.replicas[0].username = sa",
+        "users.routing.read-your-writes-window = 1m"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReplicaRoutingConfiguration.class, UserCacheConfiguration.class, UserServiceImpl.class,
+        DirectUserConverterImpl.class, TagDirectory.class, SavepointInserter.class, ForumDirectory.class})
+@EnableConfigurationProperties(UserProperties.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReplicaRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    private static final String USER_TABLE = "user";
+
+    @Autowired
+    private UserService service;
+
+    private JdbcTemplate primary;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        // the replica gets the schema Hibernate created on the primary, but none of its rows
+        replica.execute("drop all objects");
+        primary.queryForList("script nodata", String.class).stream()
+                .filter(statement -> !statement.startsWith("CREATE USER"))
+                .forEach(replica::execute);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void givenCreatedUser_whenFindByOtherUser_thenReadFromReplica() {
+        //given
+        authenticate("alice");
+        Long id = service.createUser(user("Alex").build()).getId();
+
+        //when
+        authenticate("bob");
+
+        //then
+        assertThatThrownBy(() -> service.findUserById(id)).isInstanceOf(ServiceException.class);
+        assertThat(primary.queryForObject("select count(*) from " + USER_TABLE + " where id = ?", Long.class, id)).isEqualTo(1);
+        assertThat(replica.queryForObject("select count(*) from " + USER_TABLE + " where id = ?", Long.class, id)).isZero();
+    }
+
+    @Test
+    public void givenCreatedUser_whenFindBySameUserWithinWindow_thenReadFromPrimary() {
+        //given
+        authenticate("alice");
+        Long id = service.createUser(user("Alex").build()).getId();
+
+        //when
+        UserDto userDto = service.findUserById(id);
+
+        //then
+        assertThat(userDto.getLogin()).isEqualTo("alex");
+    }
+
+    @Test
+    public void givenUserCopiedToReplica_whenFindAnonymously_thenReadFromReplica() {
+        //given
+        Long id = service.createUser(user("Alex").build()).getId();
+        copyToReplica(id);
+
+        //when
+        UserDto userDto = service.findUserById(id);
+
+        //then
+        assertThat(userDto.getLogin()).isEqualTo("alex");
+    }
+
+    @Test
+    public void givenUpdateNotReplicated_whenFoundByOtherUserThenByWriter_thenWriterSeesUpdate() {
+        //given
+        authenticate("alice");
+        Long id = service.createUser(user("Alex").build()).getId();
+        copyToReplica(id);
+        UserDto update = user("Alex").build();
+        update.setName("John");
+        service.updateUser(id, update, null);
+
+        //when
+        authenticate("bob");
+        UserDto replicaUser = service.findUserById(id);
+        authenticate("alice");
+        UserDto writerUser = service.findUserById(id);
+
+        //then
+        assertThat(replicaUser.getName()).isEqualTo("Alex");
+        assertThat(writerUser.getName()).isEqualTo("John");
+    }
+
+    private void copyToReplica(Long id) {
+        Map<String, Object> row = primary.queryForMap("select * from " + USER_TABLE + " where id = ?", id);
+        replica.update("insert into " + USER_TABLE + " (" + String.join(", ", row.keySet()) + ") values ("
+                + row.keySet().stream().map(column -> "?").collect(Collectors.joining(", ")) + ")", row.values().toArray());
+    }
+
+    private static void authenticate(String name) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(name, null, "ROLE_USER"));
+    }
+}
@@ -0,0 +1,79 @@
+package gdinternshipspringapp.integrationTest;
+
+import gdinternshipspringapp.monitoring.ServerTimingFilter;
+import gdinternshipspringapp.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static gdinternshipspringapp.support.UserDtoBuilder.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "users.server-timing.log-sample-rate = 1")
+@AutoConfigureTestDatabase
+@ExtendWith(OutputCaptureExtension.class)
+class ServerTimingTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private FilterRegistrationBean<ServerTimingFilter> serverTimingFilter;
+
+    @Autowired
+    private UserService service;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        // security filters need a token, only the timing filter is applied
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(serverTimingFilter.getFilter())
+                .build();
+    }
+
+    @Test
+    public void givenUser_whenGetById_thenServerTimingSentAndLogged(CapturedOutput output) throws Exception {
+        //given
+        Long id = service.createUser(user("Alex").build()).getId();
+
+        //when
+        String serverTiming = mockMvc.perform(get("/users/{id}", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("Server-Timing");
+
+        //then
+        assertThat(serverTiming)
+                .matches("filters;dur=[0-9.]+, controller;dur=[0-9.]+, service;dur=[0-9.]+, "
+                        + "repository;dur=[0-9.]+, converter;dur=[0-9.]+, total;dur=[0-9.]+");
+        assertThat(output).containsPattern("method=GET path=/users/" + id + " status=200 totalMs=[0-9.]+ "
+                + "filtersMs=[0-9.]+ controllerMs=[0-9.]+ serviceMs=[0-9.]+ repositoryMs=[0-9.]+ "
+                + "converterMs=[0-9.]+ serializationMs=[0-9.]+");
+    }
+
+    @Test
+    public void givenUser_whenDeleted_thenServerTimingSentWithoutBody() throws Exception {
+        //given
+        Long id = service.createUser(user("Alex").build()).getId();
+
+        //when
+        //then
+        mockMvc.perform(delete("/users/{id}", id))
+                .andExpect(header().string("Server-Timing", containsString("service;dur=")));
+    }
+}
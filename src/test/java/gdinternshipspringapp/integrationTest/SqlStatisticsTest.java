@@ -0,0 +1,111 @@
+package gdinternshipspringapp.integrationTest;
+
+import gdinternshipspringapp.configuration.DataSourceProxyConfiguration;
+import gdinternshipspringapp.configuration.UserProperties;
+import gdinternshipspringapp.converter.UserConverter;
+import gdinternshipspringapp.model.dto.SqlStatementStatsDto;
+import gdinternshipspringapp.model.entity.Tag;
+import gdinternshipspringapp.repository.TagRepository;
+import gdinternshipspringapp.service.SqlStatisticsService;
+import gdinternshipspringapp.service.UserService;
+import gdinternshipspringapp.service.impl.SqlStatisticsServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "users.sql.slow-threshold = 0ms",
+        "users.sql.slow-sample-rate = 1"})
+@Import({DataSourceProxyConfiguration.class, SqlStatisticsServiceImpl.class})
+@EnableConfigurationProperties(UserProperties.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ExtendWith(OutputCaptureExtension.class)
+class SqlStatisticsTest {
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private UserConverter userConverter;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private SqlStatisticsService sqlStatisticsService;
+
+    @Test
+    public void givenTags_whenSelectedTwice_thenExecutionsAndRowsCountedForOneStatement() {
+        //given
+        List<String> names = Arrays.asList("sql-stats-1", "sql-stats-2", "sql-stats-3");
+        tagRepository.saveAll(names.stream().map(SqlStatisticsTest::createTag).collect(Collectors.toList()));
+
+        //when
+        tagRepository.findByNameIn(names);
+        tagRepository.findByNameIn(Arrays.asList("sql-stats-1", "sql-stats-absent-1", "sql-stats-absent-2"));
+
+        //then
+        SqlStatementStatsDto select = findStatement(3, "select", "tag0_.name in");
+        assertThat(select.getCount()).isEqualTo(2);
+        assertThat(select.getRowCount()).isEqualTo(4);
+        assertThat(select.getMaxMillis()).isGreaterThan(0);
+        assertThat(select.getP99Millis()).isGreaterThan(0).isLessThanOrEqualTo(select.getMaxMillis());
+        SqlStatementStatsDto insert = findStatement(2, "insert into tag");
+        assertThat(insert.getRowCount()).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    public void givenSlowThreshold_whenStatementExecuted_thenLoggedWithParameters(CapturedOutput output) {
+        //given
+        String name = "sql-stats-logged";
+
+        //when
+        tagRepository.findByNameIn(List.of(name));
+
+        //then
+        assertThat(output).contains("Slow statement took").contains("[[" + name + "]]");
+    }
+
+    @Test
+    public void givenManyStatements_whenFindSlowest_thenLimitedAndSortedByP99() {
+        //given
+        IntStream.range(0, 5).forEach(i -> tagRepository.findByNameIn(List.of("sql-stats-" + i)));
+        tagRepository.count();
+
+        //when
+        List<SqlStatementStatsDto> slowest = sqlStatisticsService.findSlowestStatements(2);
+
+        //then
+        assertThat(slowest).hasSize(2);
+        assertThat(slowest.get(0).getP99Millis()).isGreaterThanOrEqualTo(slowest.get(1).getP99Millis());
+    }
+
+    private SqlStatementStatsDto findStatement(int parameters, String... fragments) {
+        return sqlStatisticsService.findSlowestStatements(Integer.MAX_VALUE).stream()
+                .filter(statement -> Arrays.stream(fragments).allMatch(statement.getSql()::contains))
+                .filter(statement -> statement.getSql().chars().filter(c -> c == '?').count() == parameters)
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+    }
+
+    private static Tag createTag(String name) {
+        Tag tag = new Tag();
+        tag.setName(name);
+        return tag;
+    }
+}
@@ -0,0 +1,111 @@
+package gdinternshipspringapp.integrationTest;
+
+import gdinternshipspringapp.configuration.UserProperties;
+import gdinternshipspringapp.converter.impl.DirectUserConverterImpl;
+import gdinternshipspringapp.model.dto.*;
+import gdinternshipspringapp.repository.SectionRepository;
+import gdinternshipspringapp.repository.TagRepository;
+import gdinternshipspringapp.service.UserService;
+import gdinternshipspringapp.service.impl.ForumDirectory;
+import gdinternshipspringapp.service.impl.SavepointInserter;
+import gdinternshipspringapp.service.impl.TagDirectory;
+import gdinternshipspringapp.service.impl.UserServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static gdinternshipspringapp.support.UserDtoBuilder.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs on a database which compares names ignoring case, as the default collation of MySQL does,
+ * and with inserts batched as in the application
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.jdbc.batch_size = 50",
+        "spring.datasource.driver-class-name = org.h2.Driver",
+        "spring.datasource.url = jdbc:h2:mem:collation;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username = sa",
+        "spring.datasource.password = "})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({UserServiceImpl.class, DirectUserConverterImpl.class, TagDirectory.class, SavepointInserter.class,
+        ForumDirectory.class})
+@EnableConfigurationProperties(UserProperties.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TagCollationTest {
+
+    @Autowired
+    private UserService service;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private SectionRepository sectionRepository;
+
+    @Test
+    public void givenNamesDifferingInCase_whenCreateUsers_thenOneTagStoredAndLinked() {
+        //given
+        UserDto first = user("Alex").topic("Collation Section", "Collation Forum", "washita").build();
+        UserDto second = user("John").topic("Collation Section", "Collation Forum", "Washita", "WASHITA").build();
+
+        //when
+        Long firstId = service.createUser(first).getId();
+        Long secondId = service.createUser(second).getId();
+
+        //then
+        assertThat(tagRepository.findByNameIn(Set.of("washita"))).hasSize(1);
+        assertThat(tagIdsOf(secondId)).isEqualTo(tagIdsOf(firstId)).hasSize(1);
+    }
+
+    @Test
+    public void givenSectionAndForumNamesDifferingInCase_whenCreateUsers_thenOneSectionAndForumStored() {
+        //given
+        UserDto first = user("Bob").topic("Case Section", "Case Forum").build();
+        UserDto second = user("Mike").topic("CASE SECTION", "case forum").build();
+
+        //when
+        Long firstId = service.createUser(first).getId();
+        Long secondId = service.createUser(second).getId();
+
+        //then
+        assertThat(sectionRepository.findAll())
+                .filteredOn(section -> "case section".equalsIgnoreCase(section.getName()))
+                .hasSize(1);
+        assertThat(forumOf(secondId).getId()).isEqualTo(forumOf(firstId).getId());
+    }
+
+    @Test
+    public void givenForumsWithoutSection_whenCreateUsers_thenOneForumStored() {
+        //given
+        UserDto first = user("Kate").topic(null, "Sectionless Forum").build();
+        UserDto second = user("Anna").topic(null, "SECTIONLESS FORUM").build();
+
+        //when
+        Long firstId = service.createUser(first).getId();
+        Long secondId = service.createUser(second).getId();
+
+        //then
+        assertThat(forumOf(secondId).getId()).isEqualTo(forumOf(firstId).getId());
+        assertThat(forumOf(firstId).getSection()).isNull();
+    }
+
+    private Set<Long> tagIdsOf(Long userId) {
+        return service.findUserById(userId).getTopics().stream()
+                .flatMap(topic -> topic.getTags().stream())
+                .map(TagDto::getId)
+                .collect(Collectors.toSet());
+    }
+
+    private ForumDto forumOf(Long userId) {
+        return service.findUserById(userId).getTopics().iterator().next().getForum();
+    }
+}
@@ -0,0 +1,77 @@
+package gdinternshipspringapp.integrationTest;
+
+import gdinternshipspringapp.configuration.UserProperties;
+import gdinternshipspringapp.converter.impl.DirectUserConverterImpl;
+import gdinternshipspringapp.model.dto.*;
+import gdinternshipspringapp.model.entity.Tag;
+import gdinternshipspringapp.repository.TagRepository;
+import gdinternshipspringapp.service.UserService;
+import gdinternshipspringapp.service.impl.ForumDirectory;
+import gdinternshipspringapp.service.impl.SavepointInserter;
+import gdinternshipspringapp.service.impl.TagDirectory;
+import gdinternshipspringapp.service.impl.UserServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.List;
+
+import static gdinternshipspringapp.support.UserDtoBuilder.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({UserServiceImpl.class, DirectUserConverterImpl.class, TagDirectory.class, SavepointInserter.class,
+        ForumDirectory.class})
+@EnableConfigurationProperties(UserProperties.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TagDeduplicationTest {
+
+    @Autowired
+    private UserService service;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Test
+    public void givenTwoUsersWithSameTag_whenCreate_thenOneTagStored() {
+        //given
+        UserDto first = user("Alex").topic("Section of Alex", "Forum of Alex", "dedup-java").build();
+        UserDto second = user("John").topic("Section of John", "Forum of John", "dedup-java").build();
+
+        //when
+        Long firstId = service.createUser(first).getId();
+        Long secondId = service.createUser(second).getId();
+
+        //then
+        List<Tag> tags = tagRepository.findByNameIn(Collections.singleton("dedup-java"));
+        assertThat(tags).hasSize(1);
+        Long tagId = tags.get(0).getId();
+        assertThat(service.findUserById(firstId).getTopics()).allSatisfy(topic ->
+                assertThat(topic.getTags()).extracting(TagDto::getId).containsExactly(tagId));
+        assertThat(service.findUserById(secondId).getTopics()).allSatisfy(topic ->
+                assertThat(topic.getTags()).extracting(TagDto::getId).containsExactly(tagId));
+    }
+
+    @Test
+    public void givenSharedTag_whenDeleteOneUser_thenTagKeptAndDeletedWithLastUser() {
+        //given
+        Long firstId = service.createUser(user("Alex").topic("Section of Alex", "Forum of Alex", "dedup-spring").build()).getId();
+        Long secondId = service.createUser(user("John").topic("Section of John", "Forum of John", "dedup-spring").build()).getId();
+
+        //when
+        service.deleteUserById(firstId);
+
+        //then
+        assertThat(tagRepository.findByNameIn(Collections.singleton("dedup-spring"))).hasSize(1);
+        service.deleteUserById(secondId);
+        assertThat(tagRepository.findByNameIn(Collections.singleton("dedup-spring"))).isEmpty();
+        Long thirdId = service.createUser(user("Ivan").topic("Section of Ivan", "Forum of Ivan", "dedup-spring").build()).getId();
+        assertThat(service.findUserById(thirdId).getTopics()).allSatisfy(topic ->
+                assertThat(topic.getTags()).extracting(TagDto::getName).containsExactly("dedup-spring"));
+    }
+}
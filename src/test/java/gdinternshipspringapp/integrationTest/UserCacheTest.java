@@ -0,0 +1,172 @@
+package gdinternshipspringapp.integrationTest;
+
+import gdinternshipspringapp.configuration.UserCacheConfiguration;
+import gdinternshipspringapp.configuration.UserProperties;
+import gdinternshipspringapp.converter.impl.DirectUserConverterImpl;
+import gdinternshipspringapp.exception.ServiceException;
+import gdinternshipspringapp.model.dto.UserCacheStatsDto;
+import gdinternshipspringapp.model.dto.UserDto;
+import gdinternshipspringapp.model.entity.Topic;
+import gdinternshipspringapp.service.CacheStatisticsService;
+import gdinternshipspringapp.service.UserService;
+import gdinternshipspringapp.service.impl.CacheStatisticsServiceImpl;
+import gdinternshipspringapp.service.impl.ForumDirectory;
+import gdinternshipspringapp.service.impl.SavepointInserter;
+import gdinternshipspringapp.service.impl.TagDirectory;
+import gdinternshipspringapp.service.impl.UserServiceImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import static gdinternshipspringapp.support.UserDtoBuilder.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics = true")
+@Import({UserServiceImpl.class, DirectUserConverterImpl.class, TagDirectory.class, SavepointInserter.class,
+        ForumDirectory.class, UserCacheConfiguration.class, CacheStatisticsServiceImpl.class})
+@EnableConfigurationProperties(UserProperties.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserCacheTest {
+
+    @Autowired
+    private UserService service;
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void givenFoundUser_whenFindAgain_thenServedFromCache() {
+        //given
+        Long id = service.createUser(user("Alex").build()).getId();
+        service.findUserById(id);
+        UserCacheStatsDto before = cacheStatisticsService.findUserCacheStatistics();
+
+        //when
+        statistics.clear();
+        UserDto userDto = service.findUserById(id);
+
+        //then
+        UserCacheStatsDto after = cacheStatisticsService.findUserCacheStatistics();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(userDto.getName()).isEqualTo("Alex");
+        assertThat(after.getHitCount()).isEqualTo(before.getHitCount() + 1);
+        assertThat(after.getEstimatedBytes()).isPositive();
+        assertThat(after.getMaxBytes()).isEqualTo(new UserProperties().getDtoCache().getMaxSize().toBytes());
+    }
+
+    @Test
+    public void givenCachedUser_whenFoundUserChanged_thenCachedUserUnchanged() {
+        //given
+        Long id = service.createUser(user("Alex").build()).getId();
+        service.findUserById(id).setName("John");
+
+        //when
+        UserDto first = service.findUserById(id);
+        first.setName("Ivan");
+        UserDto second = service.findUserById(id);
+
+        //then
+        assertThat(second.getName()).isEqualTo("Alex");
+        assertThat(second).isNotSameAs(first);
+    }
+
+    @Test
+    public void givenCachedUser_whenUpdate_thenNextFindReturnsUpdatedUser() {
+        //given
+        Long id = service.createUser(user("Alex").build()).getId();
+        service.findUserById(id);
+
+        //when
+        UserDto updatedUser = service.updateUser(id, user("John").build(), null);
+
+        //then
+        UserDto foundUser = service.findUserById(id);
+        assertThat(foundUser.getName()).isEqualTo("John");
+        assertThat(foundUser.getVersion()).isEqualTo(updatedUser.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    public void givenCachedUserWithPostInTopicOfOtherUser_whenOtherUserDeleted_thenNextFindWithoutPost() {
+        //given
+        Long ownerId = service.createUser(user("Alex").topic("Owner Section", "Owner Forum").build()).getId();
+        Long authorId = service.createUser(user("John").topic("Author Section", "Author Forum")
+                .posts(1).comments(1).build()).getId();
+        Long topicId = service.findUserById(ownerId).getTopics().iterator().next().getId();
+        moveAllPosts(authorId, topicId);
+        assertThat(service.findUserById(authorId).getPosts()).hasSize(1);
+
+        //when
+        service.deleteUserById(ownerId);
+
+        //then
+        UserDto author = service.findUserById(authorId);
+        assertThat(author.getPosts()).isEmpty();
+        assertThat(author.getComments()).isEmpty();
+    }
+
+    @Test
+    public void givenPostInTopicOfOtherUser_whenOtherUserDeleted_thenVersionIncremented() {
+        //given
+        Long ownerId = service.createUser(user("Ivan").topic("Owner Section", "Owner Forum").build()).getId();
+        Long authorId = service.createUser(user("Mike").posts(1).build()).getId();
+        moveAllPosts(authorId, service.findUserById(ownerId).getTopics().iterator().next().getId());
+        Long version = service.findVersionById(authorId);
+
+        //when
+        service.deleteUserById(ownerId);
+
+        //then
+        assertThat(service.findVersionById(authorId)).isEqualTo(version + 1);
+        assertThat(service.findUserById(authorId).getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    public void givenCachedUser_whenDelete_thenNextFindFails() {
+        //given
+        Long id = service.createUser(user("Alex").build()).getId();
+        service.findUserById(id);
+
+        //when
+        service.deleteUserById(id);
+
+        //then
+        assertThatThrownBy(() -> service.findUserById(id)).isInstanceOf(ServiceException.class);
+    }
+
+    private void moveAllPosts(Long userId, Long topicId) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> entityManager
+                .createQuery("update Post p set p.topic = :topic where p.user.id = :userId")
+                .setParameter("topic", entityManager.getReference(Topic.class, topicId))
+                .setParameter("userId", userId)
+                .executeUpdate());
+    }
+}
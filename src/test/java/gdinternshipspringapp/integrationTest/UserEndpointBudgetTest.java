@@ -0,0 +1,103 @@
+package gdinternshipspringapp.integrationTest;
+
+import gdinternshipspringapp.service.UserService;
+import gdinternshipspringapp.support.BudgetMockMvc;
+import gdinternshipspringapp.support.BudgetTestConfiguration;
+import gdinternshipspringapp.support.EndpointBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.util.unit.DataSize;
+
+import static gdinternshipspringapp.support.UserDtoBuilder.user;
+import static gdinternshipspringapp.configuration.UserCacheConfiguration.USER_CACHE;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@AutoConfigureTestDatabase
+@Import(BudgetTestConfiguration.class)
+class UserEndpointBudgetTest {
+
+    private static final EndpointBudget GET_USER = EndpointBudget.of("GET /users/{id}")
+            .statements(3)
+            .allocated(DataSize.ofKilobytes(1536));
+
+    private static final EndpointBudget GET_USERS = EndpointBudget.of("GET /users")
+            .statements(4)
+            .allocated(DataSize.ofMegabytes(2));
+
+    private static final EndpointBudget GET_SUMMARIES = EndpointBudget.of("GET /users/summary")
+            .statements(1)
+            .allocated(DataSize.ofKilobytes(512));
+
+    @Autowired
+    private BudgetMockMvc mockMvc;
+
+    @Autowired
+    private UserService service;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        id = service.createUser(user("Alex").topics(5).posts(10).comments(10).build()).getId();
+    }
+
+    @Test
+    public void givenUser_whenGetById_thenWithinBudget() throws Exception {
+        //given
+        RequestBuilder request = get("/users/{id}", id);
+
+        //when
+        ResultActions result = performUncached(GET_USER, request);
+
+        //then
+        result.andExpect(status().isOk());
+    }
+
+    @Test
+    public void givenUsers_whenGetPage_thenWithinBudget() throws Exception {
+        //given
+        RequestBuilder request = get("/users").param("size", "20");
+
+        //when
+        ResultActions result = performUncached(GET_USERS, request);
+
+        //then
+        result.andExpect(status().isOk());
+    }
+
+    @Test
+    public void givenUsers_whenGetSummaries_thenWithinBudget() throws Exception {
+        //given
+        RequestBuilder request = get("/users/summary").param("size", "20");
+
+        //when
+        ResultActions result = performUncached(GET_SUMMARIES, request);
+
+        //then
+        result.andExpect(status().isOk());
+    }
+
+    /**
+     * The first request warms up the code path, the measured one reads from the database
+     */
+    private ResultActions performUncached(EndpointBudget budget, RequestBuilder request) throws Exception {
+        cacheManager.getCache(USER_CACHE).clear();
+        mockMvc.perform(EndpointBudget.of("warm-up"), request);
+        cacheManager.getCache(USER_CACHE).clear();
+        return mockMvc.perform(budget, request);
+    }
+}
@@ -0,0 +1,213 @@
+package gdinternshipspringapp.integrationTest;
+
+import gdinternshipspringapp.configuration.UserProperties;
+import gdinternshipspringapp.converter.impl.DirectUserConverterImpl;
+import gdinternshipspringapp.model.dto.*;
+import gdinternshipspringapp.model.entity.Role;
+import gdinternshipspringapp.model.projection.UserSummary;
+import gdinternshipspringapp.service.UserService;
+import gdinternshipspringapp.service.impl.ForumDirectory;
+import gdinternshipspringapp.service.impl.SavepointInserter;
+import gdinternshipspringapp.service.impl.TagDirectory;
+import gdinternshipspringapp.service.impl.UserServiceImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics = true")
+@Import({UserServiceImpl.class, DirectUserConverterImpl.class, TagDirectory.class, SavepointInserter.class,
+        ForumDirectory.class})
+@EnableConfigurationProperties(UserProperties.class)
+class UserFetchPlanTest {
+
+    @Autowired
+    private UserService service;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void givenSmallUser_whenFind_thenThreeStatementsExecuted() {
+        //given
+        Long id = createUser(1, 1, 1);
+
+        //when
+        statistics.clear();
+        UserDto userDto = service.findUserById(id);
+
+        //then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(userDto.getTopics()).hasSize(1);
+    }
+
+    @Test
+    public void givenLargeUser_whenFind_thenThreeStatementsExecuted() {
+        //given
+        Long id = createUser(10, 20, 30);
+
+        //when
+        statistics.clear();
+        UserDto userDto = service.findUserById(id);
+
+        //then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(userDto.getTopics()).hasSize(10);
+        assertThat(userDto.getTopics()).allSatisfy(topic -> {
+            assertThat(topic.getForum().getSection()).isNotNull();
+            assertThat(topic.getTags()).hasSize(2);
+        });
+        assertThat(userDto.getPosts()).hasSize(20);
+        assertThat(userDto.getPosts()).allSatisfy(post -> assertThat(post.getPics()).hasSize(2));
+        assertThat(userDto.getComments()).hasSize(30);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void givenCommittedUser_whenFindInOwnTransaction_thenNothingFlushed() {
+        //given
+        UserDto created = new UserDto();
+        created.setName("Alex");
+        created.setLogin("al");
+        Long id = service.createUser(created).getId();
+
+        //when
+        statistics.clear();
+        service.findUserById(id);
+        service.findAll();
+
+        //then
+        assertThat(statistics.getFlushCount()).isZero();
+        assertThat(statistics.getTransactionCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenManyUsers_whenFindAll_thenFourStatementsExecuted() {
+        //given
+        for (int i = 0; i < 30; i++) {
+            createUser(2, 3, 4);
+        }
+
+        //when
+        statistics.clear();
+        List<UserDto> userDtos = service.findAll();
+
+        //then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(userDtos).hasSizeGreaterThanOrEqualTo(30);
+    }
+
+    @Test
+    public void givenManyUsers_whenFindPage_thenFourStatementsExecuted() {
+        //given
+        for (int i = 0; i < 30; i++) {
+            createUser(2, 3, 4);
+        }
+
+        //when
+        statistics.clear();
+        PageDto<UserDto> page = service.findPage(null, 20, false);
+
+        //then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(page.getContent()).hasSize(20);
+    }
+
+    @Test
+    public void givenUser_whenFindSummaryPage_thenCountsSelectedInOneStatement() {
+        //given
+        Long id = createUser(2, 3, 4);
+
+        //when
+        statistics.clear();
+        PageDto<UserSummary> page = service.findSummaryPage(null, 100);
+
+        //then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        UserSummary summary = page.getContent().stream()
+                .filter(user -> user.getId().equals(id))
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+        assertThat(summary.getLogin()).isEqualTo("al");
+        assertThat(summary.getTopicCount()).isEqualTo(2);
+        assertThat(summary.getPostCount()).isEqualTo(3);
+        assertThat(summary.getCommentCount()).isEqualTo(4);
+    }
+
+    private Long createUser(int topics, int posts, int comments) {
+        UserDto userDto = new UserDto();
+        userDto.setName("Alex");
+        userDto.setLogin("al");
+        userDto.setPassword("asdf");
+        userDto.setEmail("alex@gmail.com");
+        userDto.setRole(Role.USER);
+        Set<TopicDto> topicDtos = new HashSet<>();
+        for (int i = 0; i < topics; i++) {
+            SectionDto section = new SectionDto();
+            section.setName("Section " + i);
+            ForumDto forum = new ForumDto();
+            forum.setName("Forum " + i);
+            forum.setSection(section);
+            Set<TagDto> tags = new HashSet<>();
+            for (int j = 0; j < 2; j++) {
+                TagDto tag = new TagDto();
+                tag.setName("Tag " + i + "-" + j);
+                tags.add(tag);
+            }
+            TopicDto topic = new TopicDto();
+            topic.setName("Topic " + i);
+            topic.setForum(forum);
+            topic.setTags(tags);
+            topicDtos.add(topic);
+        }
+        userDto.setTopics(topicDtos);
+        Set<PostDto> postDtos = new HashSet<>();
+        for (int i = 0; i < posts; i++) {
+            Set<PicDto> pics = new HashSet<>();
+            for (int j = 0; j < 2; j++) {
+                PicDto pic = new PicDto();
+                pic.setCaption("Pic " + i + "-" + j);
+                pics.add(pic);
+            }
+            PostDto post = new PostDto();
+            post.setMessage("Post " + i);
+            post.setDate(LocalDate.now());
+            post.setPics(pics);
+            postDtos.add(post);
+        }
+        userDto.setPosts(postDtos);
+        Set<CommentDto> commentDtos = new HashSet<>();
+        for (int i = 0; i < comments; i++) {
+            CommentDto comment = new CommentDto();
+            comment.setName("Comment " + i);
+            commentDtos.add(comment);
+        }
+        userDto.setComments(commentDtos);
+        Long id = service.createUser(userDto).getId();
+        entityManager.flush();
+        entityManager.clear();
+        return id;
+    }
+}
@@ -0,0 +1,95 @@
+package gdinternshipspringapp.integrationTest;
+
+import gdinternshipspringapp.configuration.UserProperties;
+import gdinternshipspringapp.converter.impl.DirectUserConverterImpl;
+import gdinternshipspringapp.model.dto.PageDto;
+import gdinternshipspringapp.model.dto.UserDto;
+import gdinternshipspringapp.model.entity.Role;
+import gdinternshipspringapp.model.projection.UserSummary;
+import gdinternshipspringapp.service.UserService;
+import gdinternshipspringapp.service.impl.ForumDirectory;
+import gdinternshipspringapp.service.impl.SavepointInserter;
+import gdinternshipspringapp.service.impl.TagDirectory;
+import gdinternshipspringapp.service.impl.UserServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({UserServiceImpl.class, DirectUserConverterImpl.class, TagDirectory.class, SavepointInserter.class,
+        ForumDirectory.class})
+@EnableConfigurationProperties(UserProperties.class)
+class UserPageTest {
+
+    @Autowired
+    private UserService service;
+
+    @Test
+    public void givenUsersWithoutName_whenWalkPages_thenEveryUserReturnedOnce() {
+        //given
+        List<Long> ids = new ArrayList<>();
+        for (String name : Arrays.asList(null, "Alex", null, "null", null, "John")) {
+            ids.add(createUser(name));
+        }
+
+        //when
+        List<Long> walked = new ArrayList<>();
+        PageDto<UserDto> page = service.findPage(null, 2, true);
+        walked.addAll(idsOf(page.getContent()));
+        while (page.getNextToken() != null) {
+            page = service.findPage(page.getNextToken(), 2, false);
+            walked.addAll(idsOf(page.getContent()));
+        }
+
+        //then
+        // other tests may leave committed users behind
+        assertThat(walked).doesNotHaveDuplicates();
+        walked.retainAll(ids);
+        assertThat(walked).containsExactly(ids.get(0), ids.get(2), ids.get(4), ids.get(1), ids.get(5), ids.get(3));
+    }
+
+    @Test
+    public void givenUsersWithoutName_whenWalkSummaryPages_thenEveryUserReturnedOnce() {
+        //given
+        List<Long> ids = new ArrayList<>();
+        for (String name : Arrays.asList(null, null, null, "Alex")) {
+            ids.add(createUser(name));
+        }
+
+        //when
+        List<Long> walked = new ArrayList<>();
+        PageDto<UserSummary> page = service.findSummaryPage(null, 2);
+        page.getContent().forEach(summary -> walked.add(summary.getId()));
+        while (page.getNextToken() != null) {
+            page = service.findSummaryPage(page.getNextToken(), 2);
+            page.getContent().forEach(summary -> walked.add(summary.getId()));
+        }
+
+        //then
+        assertThat(walked).doesNotHaveDuplicates();
+        walked.retainAll(ids);
+        assertThat(walked).containsExactlyElementsOf(ids);
+    }
+
+    private Long createUser(String name) {
+        UserDto userDto = new UserDto();
+        userDto.setName(name);
+        userDto.setLogin("al");
+        userDto.setRole(Role.USER);
+        return service.createUser(userDto).getId();
+    }
+
+    private static List<Long> idsOf(List<UserDto> users) {
+        List<Long> ids = new ArrayList<>();
+        users.forEach(user -> ids.add(user.getId()));
+        return ids;
+    }
+}
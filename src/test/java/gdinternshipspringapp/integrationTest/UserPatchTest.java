@@ -0,0 +1,72 @@
+package gdinternshipspringapp.integrationTest;
+
+import gdinternshipspringapp.configuration.UserProperties;
+import gdinternshipspringapp.converter.impl.DirectUserConverterImpl;
+import gdinternshipspringapp.model.dto.UserDto;
+import gdinternshipspringapp.model.dto.UserPatchDto;
+import gdinternshipspringapp.model.entity.Role;
+import gdinternshipspringapp.service.UserService;
+import gdinternshipspringapp.service.impl.ForumDirectory;
+import gdinternshipspringapp.service.impl.SavepointInserter;
+import gdinternshipspringapp.service.impl.TagDirectory;
+import gdinternshipspringapp.service.impl.UserServiceImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics = true")
+@Import({UserServiceImpl.class, DirectUserConverterImpl.class, TagDirectory.class, SavepointInserter.class,
+        ForumDirectory.class})
+@EnableConfigurationProperties(UserProperties.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserPatchTest {
+
+    @Autowired
+    private UserService service;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void givenPatch_whenPatch_thenOneSelectAndOneUpdateExecuted() {
+        //given
+        UserDto userDto = new UserDto();
+        userDto.setName("Alex");
+        userDto.setLogin("al");
+        userDto.setEmail("alex@gmail.com");
+        userDto.setRole(Role.USER);
+        Long id = service.createUser(userDto).getId();
+        UserPatchDto patch = new UserPatchDto();
+        patch.setEmail("alex@yahoo.com");
+
+        //when
+        statistics.clear();
+        Long version = service.patchUser(id, patch, 0L);
+
+        //then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        assertThat(version).isEqualTo(1L);
+        UserDto patchedUser = service.findUserById(id);
+        assertThat(patchedUser.getEmail()).isEqualTo("alex@yahoo.com");
+        assertThat(patchedUser.getName()).isEqualTo("Alex");
+    }
+}
@@ -0,0 +1,64 @@
+package gdinternshipspringapp.support;
+
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Performs requests with MockMvc and fails those which exceed the budget of their endpoint.
+ * Allocations are read from the thread counters of the JVM, they aren't checked where it doesn't
+ * support them.
+ */
+public class BudgetMockMvc {
+
+    private final MockMvc mockMvc;
+
+    private final StatementCounter statementCounter;
+
+    private final com.sun.management.ThreadMXBean threads;
+
+    public BudgetMockMvc(MockMvc mockMvc, StatementCounter statementCounter) {
+        this.mockMvc = mockMvc;
+        this.statementCounter = statementCounter;
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported()) {
+            this.threads = (com.sun.management.ThreadMXBean) threadMXBean;
+            this.threads.setThreadAllocatedMemoryEnabled(true);
+        } else {
+            this.threads = null;
+        }
+    }
+
+    /**
+     * Perform a request within a budget
+     *
+     * @throws AssertionError if the request executed more statements or allocated more bytes than allowed
+     */
+    public ResultActions perform(EndpointBudget budget, RequestBuilder request) throws Exception {
+        long statementsBefore = statementCounter.getCount();
+        long allocatedBefore = allocatedBytes();
+        ResultActions result = mockMvc.perform(request);
+        long allocated = allocatedBytes() - allocatedBefore;
+        long statements = statementCounter.getCount() - statementsBefore;
+        List<String> exceeded = new ArrayList<>();
+        if (statements > budget.getMaxStatements()) {
+            exceeded.add(statements + " statements, budget is " + budget.getMaxStatements());
+        }
+        if (threads != null && allocated > budget.getMaxAllocated().toBytes()) {
+            exceeded.add(allocated + " allocated bytes, budget is " + budget.getMaxAllocated().toBytes());
+        }
+        if (!exceeded.isEmpty()) {
+            throw new AssertionError(budget.getEndpoint() + " exceeded its budget: " + String.join(", ", exceeded));
+        }
+        return result;
+    }
+
+    private long allocatedBytes() {
+        return threads == null ? 0 : threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,22 @@
+package gdinternshipspringapp.support;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Import into a test with MockMvc and the data source proxy configuration to get {@link BudgetMockMvc}
+ */
+@TestConfiguration
+public class BudgetTestConfiguration {
+
+    @Bean
+    public StatementCounter statementCounter() {
+        return new StatementCounter();
+    }
+
+    @Bean
+    public BudgetMockMvc budgetMockMvc(MockMvc mockMvc, StatementCounter statementCounter) {
+        return new BudgetMockMvc(mockMvc, statementCounter);
+    }
+}
@@ -0,0 +1,50 @@
+package gdinternshipspringapp.support;
+
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Maximum number of statements and of bytes allocated on the heap by one request to an endpoint
+ */
+public final class EndpointBudget {
+
+    private final String endpoint;
+
+    private final long maxStatements;
+
+    private final DataSize maxAllocated;
+
+    private EndpointBudget(String endpoint, long maxStatements, DataSize maxAllocated) {
+        this.endpoint = endpoint;
+        this.maxStatements = maxStatements;
+        this.maxAllocated = maxAllocated;
+    }
+
+    /**
+     * Budget without limits
+     *
+     * @param endpoint endpoint named in failures, like GET /users/{id}
+     */
+    public static EndpointBudget of(String endpoint) {
+        return new EndpointBudget(endpoint, Long.MAX_VALUE, DataSize.ofBytes(Long.MAX_VALUE));
+    }
+
+    public EndpointBudget statements(long maxStatements) {
+        return new EndpointBudget(endpoint, maxStatements, maxAllocated);
+    }
+
+    public EndpointBudget allocated(DataSize maxAllocated) {
+        return new EndpointBudget(endpoint, maxStatements, maxAllocated);
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public long getMaxStatements() {
+        return maxStatements;
+    }
+
+    public DataSize getMaxAllocated() {
+        return maxAllocated;
+    }
+}
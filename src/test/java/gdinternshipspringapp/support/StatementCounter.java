@@ -0,0 +1,29 @@
+package gdinternshipspringapp.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Counts statements executed by the current thread, a request performed by MockMvc
+ * runs on the thread of the test
+ */
+public class StatementCounter implements QueryExecutionListener {
+
+    private final ThreadLocal<long[]> counts = ThreadLocal.withInitial(() -> new long[1]);
+
+    public long getCount() {
+        return counts.get()[0];
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        counts.get()[0] += queryInfoList.size();
+    }
+}
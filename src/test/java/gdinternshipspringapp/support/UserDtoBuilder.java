@@ -0,0 +1,120 @@
+package gdinternshipspringapp.support;
+
+import gdinternshipspringapp.model.dto.*;
+import gdinternshipspringapp.model.entity.Role;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Users sent by clients in tests, login and email are derived from the name
+ */
+public final class UserDtoBuilder {
+
+    private final String name;
+
+    private String login;
+
+    private final Set<TopicDto> topics = new HashSet<>();
+
+    private final Set<PostDto> posts = new HashSet<>();
+
+    private final Set<CommentDto> comments = new HashSet<>();
+
+    private UserDtoBuilder(String name) {
+        this.name = name;
+        this.login = name.toLowerCase();
+    }
+
+    /**
+     * User with a password and the user role, without topics, posts and comments
+     *
+     * @param name name of the user
+     */
+    public static UserDtoBuilder user(String name) {
+        return new UserDtoBuilder(name);
+    }
+
+    public UserDtoBuilder login(String login) {
+        this.login = login;
+        return this;
+    }
+
+    /**
+     * Add a topic in a new forum
+     *
+     * @param sectionName name of the section of the forum, null for a forum without one
+     * @param forumName name of the forum
+     * @param tagNames names of tags of the topic
+     */
+    public UserDtoBuilder topic(String sectionName, String forumName, String... tagNames) {
+        ForumDto forum = new ForumDto();
+        forum.setName(forumName);
+        if (sectionName != null) {
+            SectionDto section = new SectionDto();
+            section.setName(sectionName);
+            forum.setSection(section);
+        }
+        Set<TagDto> tags = new HashSet<>();
+        for (String tagName : tagNames) {
+            TagDto tag = new TagDto();
+            tag.setName(tagName);
+            tags.add(tag);
+        }
+        TopicDto topic = new TopicDto();
+        topic.setName("Topic " + topics.size() + " of " + name);
+        topic.setForum(forum);
+        topic.setTags(tags);
+        topics.add(topic);
+        return this;
+    }
+
+    /**
+     * Add topics, each in a forum and a section of its own and with a tag of its own
+     */
+    public UserDtoBuilder topics(int count) {
+        for (int i = 0; i < count; i++) {
+            topic("Section " + i, "Forum " + i, "Tag " + i);
+        }
+        return this;
+    }
+
+    /**
+     * Add posts with a pic each
+     */
+    public UserDtoBuilder posts(int count) {
+        for (int i = 0; i < count; i++) {
+            PicDto pic = new PicDto();
+            pic.setCaption("Pic " + i);
+            PostDto post = new PostDto();
+            post.setMessage("Post " + i);
+            post.setDate(LocalDate.now());
+            post.setPics(new HashSet<>(Set.of(pic)));
+            posts.add(post);
+        }
+        return this;
+    }
+
+    public UserDtoBuilder comments(int count) {
+        for (int i = 0; i < count; i++) {
+            CommentDto comment = new CommentDto();
+            comment.setName("Comment " + i);
+            comments.add(comment);
+        }
+        return this;
+    }
+
+    public UserDto build() {
+        UserDto userDto = new UserDto();
+        userDto.setName(name);
+        userDto.setLogin(login);
+        userDto.setPassword("asdf");
+        userDto.setEmail(name.toLowerCase() + "@gmail.com");
+        userDto.setRole(Role.USER);
+        userDto.setTopics(new HashSet<>(topics));
+        userDto.setPosts(new HashSet<>(posts));
+        userDto.setComments(new HashSet<>(comments));
+        return userDto;
+    }
+}
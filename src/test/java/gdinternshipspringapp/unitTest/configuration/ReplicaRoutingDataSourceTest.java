@@ -0,0 +1,105 @@
+package gdinternshipspringapp.unitTest.configuration;
+
+import gdinternshipspringapp.configuration.ReplicaRoutingDataSource;
+import gdinternshipspringapp.configuration.UserProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource firstReplica;
+
+    @Mock
+    private DataSource secondReplica;
+
+    @Mock
+    private Connection connection;
+
+    private final UserProperties.Routing settings = new UserProperties.Routing();
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    public void givenRoundRobin_whenReadOnlyConnectionsTaken_thenReplicasAlternate() throws SQLException {
+        //given
+        when(firstReplica.getConnection()).thenReturn(connection);
+        when(secondReplica.getConnection()).thenReturn(connection);
+        ReplicaRoutingDataSource routing = createRouting();
+
+        //when
+        for (int i = 0; i < 4; i++) {
+            routing.getConnection();
+        }
+
+        //then
+        verify(firstReplica, times(2)).getConnection();
+        verify(secondReplica, times(2)).getConnection();
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    public void givenLeastConnections_whenFirstReplicaBusy_thenSecondReplicaSelected() throws SQLException {
+        //given
+        settings.setStrategy(UserProperties.Routing.Strategy.LEAST_CONNECTIONS);
+        when(firstReplica.getConnection()).thenReturn(connection);
+        when(secondReplica.getConnection()).thenReturn(connection);
+        ReplicaRoutingDataSource routing = createRouting();
+        Connection held = routing.getConnection();
+
+        //when
+        routing.getConnection().close();
+        routing.getConnection();
+
+        //then
+        verify(firstReplica, times(1)).getConnection();
+        verify(secondReplica, times(2)).getConnection();
+        held.close();
+    }
+
+    @Test
+    public void givenWriteTransaction_whenConnectionTaken_thenPrimarySelected() throws SQLException {
+        //given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        when(primary.getConnection()).thenReturn(connection);
+        ReplicaRoutingDataSource routing = createRouting();
+
+        //when
+        routing.getConnection();
+
+        //then
+        verify(primary).getConnection();
+        verifyNoInteractions(firstReplica, secondReplica);
+    }
+
+    private ReplicaRoutingDataSource createRouting() {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, Arrays.asList(firstReplica, secondReplica),
+                settings);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+}
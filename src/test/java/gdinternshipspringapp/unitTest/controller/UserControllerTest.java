@@ -4,26 +4,42 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import gdinternshipspringapp.controller.UserController;
 import gdinternshipspringapp.exception.ExceptionHandlerAdvice;
 import gdinternshipspringapp.exception.ServiceException;
+import gdinternshipspringapp.model.dto.PageDto;
 import gdinternshipspringapp.model.dto.UserDto;
+import gdinternshipspringapp.model.dto.UserImportResultDto;
+import gdinternshipspringapp.model.dto.UserImportSummaryDto;
+import gdinternshipspringapp.model.dto.UserPatchDto;
+import gdinternshipspringapp.model.entity.Role;
+import gdinternshipspringapp.model.projection.UserSummary;
+import gdinternshipspringapp.service.UserImportService;
 import gdinternshipspringapp.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.internal.verification.VerificationModeFactory;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.util.MimeTypeUtils;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import static gdinternshipspringapp.exception.errorCode.UserServiceErrorCode.USER_NOT_EXIST;
+import static gdinternshipspringapp.exception.errorCode.UserServiceErrorCode.VERSION_MISMATCH;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.hasSize;
@@ -39,6 +55,12 @@ class UserControllerTest {
     @Mock
     private UserService service;
 
+    @Mock
+    private UserImportService importService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private UserController controller;
 
@@ -62,22 +84,99 @@ class UserControllerTest {
         user2.setEmail("john@gmail.com");
 
         List<UserDto> allUsers = Arrays.asList(user1, user2);
-        when(service.findAll()).thenReturn(allUsers);
+        when(service.findPage("abc", 2, true)).thenReturn(new PageDto<>(allUsers, "def", 10L));
 
         //when
-        mockMvc.perform(get("/users"))
+        mockMvc.perform(get("/users")
+                        .param("token", "abc")
+                        .param("size", "2")
+                        .param("total", "true"))
 
                 // then
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].id", is(user1.getId().intValue())))
-                .andExpect(jsonPath("$[0].name", is(user1.getName())))
-                .andExpect(jsonPath("$[0].email", is(user1.getEmail())))
-                .andExpect(jsonPath("$[1].id", is(user2.getId().intValue())))
-                .andExpect(jsonPath("$[1].name", is(user2.getName())))
-                .andExpect(jsonPath("$[1].email", is(user2.getEmail())));
-        verify(service, VerificationModeFactory.times(1)).findAll();
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].id", is(user1.getId().intValue())))
+                .andExpect(jsonPath("$.content[0].name", is(user1.getName())))
+                .andExpect(jsonPath("$.content[0].email", is(user1.getEmail())))
+                .andExpect(jsonPath("$.content[1].id", is(user2.getId().intValue())))
+                .andExpect(jsonPath("$.content[1].name", is(user2.getName())))
+                .andExpect(jsonPath("$.content[1].email", is(user2.getEmail())))
+                .andExpect(jsonPath("$.nextToken", is("def")))
+                .andExpect(jsonPath("$.approximateTotal", is(10)));
+        verify(service, VerificationModeFactory.times(1)).findPage("abc", 2, true);
+        verifyNoMoreInteractions(service);
+    }
+
+    @Test
+    public void givenSummaries_whenGetSummary_thenScalarsAndCountsReturned() throws Exception {
+        //given
+        Map<String, Object> values = new HashMap<>();
+        values.put("id", 1L);
+        values.put("name", "Alex");
+        values.put("login", "al");
+        values.put("role", Role.USER);
+        values.put("topicCount", 2L);
+        values.put("postCount", 3L);
+        values.put("commentCount", 4L);
+        UserSummary summary = new SpelAwareProxyProjectionFactory().createProjection(UserSummary.class, values);
+        when(service.findSummaryPage("abc", 2))
+                .thenReturn(new PageDto<>(Collections.singletonList(summary), "def", null));
+
+        //when
+        mockMvc.perform(get("/users/summary")
+                        .param("token", "abc")
+                        .param("size", "2"))
+
+                // then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id", is(1)))
+                .andExpect(jsonPath("$.content[0].name", is("Alex")))
+                .andExpect(jsonPath("$.content[0].login", is("al")))
+                .andExpect(jsonPath("$.content[0].role", is("USER")))
+                .andExpect(jsonPath("$.content[0].topicCount", is(2)))
+                .andExpect(jsonPath("$.content[0].postCount", is(3)))
+                .andExpect(jsonPath("$.content[0].commentCount", is(4)))
+                .andExpect(jsonPath("$.content[0].topics").doesNotExist())
+                .andExpect(jsonPath("$.nextToken", is("def")));
+        verify(service, times(1)).findSummaryPage("abc", 2);
+        verifyNoMoreInteractions(service);
+    }
+
+    @Test
+    public void givenUsers_whenStream_thenNdjsonLinesReturned() throws Exception {
+        //given
+        UserDto user1 = new UserDto();
+        user1.setId(1L);
+        user1.setName("Alex");
+        UserDto user2 = new UserDto();
+        user2.setId(2L);
+        user2.setName("John");
+        doAnswer(invocation -> {
+            Consumer<UserDto> consumer = invocation.getArgument(0);
+            consumer.accept(user1);
+            consumer.accept(user2);
+            return null;
+        }).when(service).streamAll(any());
+
+        //when
+        MvcResult result = mockMvc.perform(get("/users/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[0], UserDto.class).getName()).isEqualTo("Alex");
+        assertThat(objectMapper.readValue(lines[1], UserDto.class).getName()).isEqualTo("John");
+        verify(service, times(1)).streamAll(any());
         verifyNoMoreInteractions(service);
     }
 
@@ -106,6 +205,57 @@ class UserControllerTest {
         verifyNoMoreInteractions(service);
     }
 
+    @Test
+    public void givenNdjsonUsers_whenImport_thenEveryUserPassedAndSummaryReturned() throws Exception {
+        //given
+        List<String> importedNames = new ArrayList<>();
+        when(importService.importUsers(any())).thenAnswer(invocation -> {
+            Iterator<UserDto> users = invocation.getArgument(0);
+            UserImportSummaryDto summary = new UserImportSummaryDto();
+            int index = 0;
+            while (users.hasNext()) {
+                importedNames.add(users.next().getName());
+                summary.add(UserImportResultDto.created(index, (long) ++index));
+            }
+            return summary;
+        });
+
+        //when
+        mockMvc.perform(post("/users/batch")
+                        .contentType("application/x-ndjson")
+                        .content("{\"name\":\"Alex\"}\n{\"name\":\"John\"}\n"))
+
+                //then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(2)))
+                .andExpect(jsonPath("$.failed", is(0)))
+                .andExpect(jsonPath("$.results[1].id", is(2)))
+                .andExpect(jsonPath("$.results[1].status", is("CREATED")));
+        assertThat(importedNames).containsExactly("Alex", "John");
+        verify(importService, times(1)).importUsers(any());
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    public void givenJsonArray_whenImport_thenEveryUserPassed() throws Exception {
+        //given
+        List<String> importedNames = new ArrayList<>();
+        when(importService.importUsers(any())).thenAnswer(invocation -> {
+            Iterator<UserDto> users = invocation.getArgument(0);
+            users.forEachRemaining(user -> importedNames.add(user.getName()));
+            return new UserImportSummaryDto();
+        });
+
+        //when
+        mockMvc.perform(post("/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"Alex\"},{\"name\":\"John\"}]"))
+
+                //then
+                .andExpect(status().isOk());
+        assertThat(importedNames).containsExactly("Alex", "John");
+    }
+
     @Test
     public void givenUsers_whenInvalidAcceptHeader_thenNotAcceptableReturned() throws Exception {
         // given
@@ -113,7 +263,7 @@ class UserControllerTest {
         UserDto user1 = new UserDto();
 
         List<UserDto> allUsers = Collections.singletonList(user1);
-        when(service.findAll()).thenReturn(allUsers);
+        when(service.findPage(null, null, false)).thenReturn(new PageDto<>(allUsers, null, null));
 
         // when
         mockMvc.perform(get("/users").accept(invalidAcceptMimeType))
@@ -140,7 +290,8 @@ class UserControllerTest {
         user.setId(1L);
         user.setName("Alex");
         user.setEmail("alex@gmail.com");
-        when(service.updateUser(anyLong(), any(UserDto.class))).thenReturn(user);
+        user.setVersion(4L);
+        when(service.updateUser(anyLong(), any(UserDto.class), isNull())).thenReturn(user);
         ObjectMapper mapper = new ObjectMapper();
 
         //when
@@ -150,13 +301,158 @@ class UserControllerTest {
 
                 //then
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
                 .andExpect(jsonPath("$.id", is(user.getId().intValue())))
                 .andExpect(jsonPath("$.name", is(user.getName())))
                 .andExpect(jsonPath("$.email", is(user.getEmail())));
-        verify(service, times(1)).updateUser(anyLong(), any(UserDto.class));
+        verify(service, times(1)).updateUser(anyLong(), any(UserDto.class), isNull());
+        verifyNoMoreInteractions(service);
+    }
+
+    @Test
+    public void givenIfMatch_whenUpdate_thenExpectedVersionPassed() throws Exception {
+        //given
+        UserDto user = new UserDto();
+        user.setVersion(4L);
+        when(service.updateUser(eq(1L), any(UserDto.class), eq(3L))).thenReturn(user);
+
+        //when
+        mockMvc.perform(put("/users/1")
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .content("{\"name\":\"Alex\",\"version\":10}")
+                        .contentType(MediaType.APPLICATION_JSON))
+
+                //then
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+        verify(service, times(1)).updateUser(eq(1L), argThat(dto -> dto.getVersion() == null), eq(3L));
+    }
+
+    @Test
+    public void givenStaleIfMatch_whenUpdate_thenPreconditionFailedReturned() throws Exception {
+        //given
+        when(service.updateUser(eq(1L), any(UserDto.class), eq(3L)))
+                .thenThrow(new ServiceException(VERSION_MISMATCH));
+
+        //when
+        mockMvc.perform(put("/users/1")
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .content("{}")
+                        .contentType(MediaType.APPLICATION_JSON))
+
+                //then
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    public void givenPreferMinimal_whenPatch_thenStatus204AndETagReturned() throws Exception {
+        //given
+        UserPatchDto patch = new UserPatchDto();
+        patch.setEmail("alex@yahoo.com");
+        when(service.patchUser(1L, patch, 3L)).thenReturn(4L);
+
+        //when
+        mockMvc.perform(patch("/users/1")
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .header("Prefer", "return=minimal")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"alex@yahoo.com\"}"))
+
+                //then
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(header().string("Preference-Applied", "return=minimal"))
+                .andExpect(content().string(""));
+        verify(service, times(1)).patchUser(1L, patch, 3L);
         verifyNoMoreInteractions(service);
     }
 
+    @Test
+    public void givenMergePatch_whenPatch_thenStatus406() throws Exception {
+        //when
+        mockMvc.perform(patch("/users/1")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"email\":null}"))
+
+                //then
+                .andExpect(status().isNotAcceptable());
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    public void givenPatch_whenPatch_thenStatus200AndUserReturned() throws Exception {
+        //given
+        UserDto user = new UserDto();
+        user.setName("John");
+        user.setVersion(4L);
+        when(service.patchUser(eq(1L), any(UserPatchDto.class), isNull())).thenReturn(4L);
+        when(service.findUserById(1L)).thenReturn(user);
+
+        //when
+        mockMvc.perform(patch("/users/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"John\"}"))
+
+                //then
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.name", is("John")));
+        verify(service, times(1)).patchUser(eq(1L), any(UserPatchDto.class), isNull());
+        verify(service, times(1)).findUserById(1L);
+        verifyNoMoreInteractions(service);
+    }
+
+    @Test
+    public void givenUser_whenGet_thenETagReturned() throws Exception {
+        //given
+        UserDto user = new UserDto();
+        user.setId(1L);
+        user.setVersion(2L);
+        when(service.findUserById(1L)).thenReturn(user);
+
+        //when
+        mockMvc.perform(get("/users/1"))
+
+                //then
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(jsonPath("$.version", is(2)));
+        verify(service, times(1)).findUserById(1L);
+        verifyNoMoreInteractions(service);
+    }
+
+    @Test
+    public void givenCurrentETag_whenGet_thenNotModifiedWithoutLoadingUser() throws Exception {
+        //given
+        when(service.findVersionById(1L)).thenReturn(2L);
+
+        //when
+        mockMvc.perform(get("/users/1").header(HttpHeaders.IF_NONE_MATCH, "\"2\""))
+
+                //then
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(service, times(1)).findVersionById(1L);
+        verifyNoMoreInteractions(service);
+    }
+
+    @Test
+    public void givenStaleETag_whenGet_thenUserReturned() throws Exception {
+        //given
+        UserDto user = new UserDto();
+        user.setVersion(3L);
+        when(service.findVersionById(1L)).thenReturn(3L);
+        when(service.findUserById(1L)).thenReturn(user);
+
+        //when
+        mockMvc.perform(get("/users/1").header(HttpHeaders.IF_NONE_MATCH, "\"2\""))
+
+                //then
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+        verify(service, times(1)).findUserById(1L);
+    }
+
     @Test
     public void whenDelete_thenStatus200() throws Exception {
         //given
@@ -0,0 +1,118 @@
+package gdinternshipspringapp.unitTest.model;
+
+import gdinternshipspringapp.model.entity.Comment;
+import gdinternshipspringapp.model.entity.Post;
+import gdinternshipspringapp.model.entity.Tag;
+import gdinternshipspringapp.model.entity.Topic;
+import gdinternshipspringapp.model.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntityEqualityTest {
+
+    @Test
+    public void givenTopicInSet_whenIdAssignedAndPostsAdded_thenStillFound() {
+        //given
+        Topic topic = new Topic();
+        topic.setName("Identify stone");
+        Set<Topic> topics = new HashSet<>();
+        topics.add(topic);
+
+        //when
+        topic.setId(1L);
+        topic.getPosts().add(new Post());
+
+        //then
+        assertThat(topics).contains(topic);
+    }
+
+    @Test
+    public void givenUnsavedComments_whenCompare_thenEqualOnlyToThemselves() {
+        //given
+        Comment first = new Comment();
+        first.setName("First comment");
+        Comment second = new Comment();
+        second.setName("First comment");
+
+        //when
+        Set<Comment> comments = new HashSet<>();
+        comments.add(first);
+        comments.add(second);
+
+        //then
+        assertThat(comments).hasSize(2);
+        second.setId(1L);
+        first.setId(1L);
+        assertThat(first).isNotEqualTo(second);
+    }
+
+    @Test
+    public void givenUsersOfSameRowWithDifferentLogins_whenCompare_thenEqualWithSameHash() {
+        //given
+        User loaded = new User();
+        loaded.setId(1L);
+        loaded.setLogin("al");
+        User patched = new User();
+        patched.setId(1L);
+        patched.setUuid(loaded.getUuid());
+        patched.setLogin("alex");
+
+        //when
+        boolean equal = loaded.equals(patched);
+
+        //then
+        assertThat(equal).isTrue();
+        assertThat(loaded.hashCode()).isEqualTo(patched.hashCode());
+    }
+
+    @Test
+    public void givenUserInSet_whenLoginPatched_thenStillFound() {
+        //given
+        User user = new User();
+        user.setId(1L);
+        user.setLogin("al");
+        Set<User> users = new HashSet<>();
+        users.add(user);
+
+        //when
+        user.setLogin("alex");
+
+        //then
+        assertThat(users).contains(user);
+    }
+
+    @Test
+    public void givenUnsavedPosts_whenHash_thenSpreadOverBuckets() {
+        //given
+        Set<Integer> hashes = new HashSet<>();
+
+        //when
+        for (int i = 0; i < 1000; i++) {
+            hashes.add(new Post().hashCode());
+        }
+
+        //then
+        assertThat(hashes).hasSizeGreaterThan(990);
+    }
+
+    @Test
+    public void givenTagsWithSameName_whenCompare_thenEqual() {
+        //given
+        Tag unsaved = new Tag();
+        unsaved.setName("Washita");
+        Tag saved = new Tag();
+        saved.setId(1L);
+        saved.setName("Washita");
+
+        //when
+        boolean equal = unsaved.equals(saved);
+
+        //then
+        assertThat(equal).isTrue();
+        assertThat(unsaved.hashCode()).isEqualTo(saved.hashCode());
+    }
+}
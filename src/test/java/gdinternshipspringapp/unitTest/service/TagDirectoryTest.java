@@ -0,0 +1,172 @@
+package gdinternshipspringapp.unitTest.service;
+
+import gdinternshipspringapp.configuration.UserProperties;
+import gdinternshipspringapp.model.entity.Tag;
+import gdinternshipspringapp.repository.TagRepository;
+import gdinternshipspringapp.service.impl.SavepointInserter;
+import gdinternshipspringapp.service.impl.TagDirectory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TagDirectoryTest {
+
+    private TagDirectory directory;
+
+    @Mock
+    private TagRepository tagRepository;
+
+    @Mock
+    private SavepointInserter inserter;
+
+    private UserProperties properties;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new UserProperties();
+        directory = new TagDirectory(tagRepository, inserter, properties);
+    }
+
+    @Test
+    public void givenExistingTag_whenResolveTwice_thenLookedUpByNameOnce() {
+        //given
+        Tag java = createTag(1L, "java");
+        when(tagRepository.findAndLockByNameIn(Set.of("java"))).thenReturn(List.of(java));
+        when(tagRepository.findAndLockByIdIn(anyCollection())).thenReturn(List.of(java));
+
+        //when
+        directory.resolve(Set.of("java"));
+        Map<String, Tag> tags = directory.resolve(Set.of("java"));
+
+        //then
+        assertThat(tags).containsEntry("java", java);
+        verify(tagRepository, times(1)).findAndLockByNameIn(anyCollection());
+        verify(tagRepository, times(2)).findAndLockByIdIn(Set.of(1L));
+        verifyNoInteractions(inserter);
+    }
+
+    @Test
+    public void givenMissingTag_whenResolve_thenInserted() {
+        //given
+        when(tagRepository.findAndLockByNameIn(Set.of("java"))).thenReturn(Collections.emptyList());
+        when(inserter.insert(any(Tag.class))).thenAnswer(invocation -> {
+            invocation.<Tag>getArgument(0).setId(1L);
+            return true;
+        });
+        when(tagRepository.findAndLockByIdIn(Set.of(1L))).thenReturn(List.of(createTag(1L, "java")));
+
+        //when
+        Map<String, Tag> tags = directory.resolve(Set.of("java"));
+
+        //then
+        assertThat(tags.get("java").getId()).isEqualTo(1L);
+        verify(inserter, times(1)).insert(any(Tag.class));
+    }
+
+    @Test
+    public void givenConcurrentInsert_whenResolve_thenWinnerFoundByName() {
+        //given
+        Tag java = createTag(1L, "java");
+        when(tagRepository.findAndLockByNameIn(Set.of("java")))
+                .thenReturn(Collections.emptyList())
+                .thenReturn(List.of(java));
+        when(inserter.insert(any(Tag.class))).thenReturn(false);
+        when(tagRepository.findAndLockByIdIn(Set.of(1L))).thenReturn(List.of(java));
+
+        //when
+        Map<String, Tag> tags = directory.resolve(Set.of("java"));
+
+        //then
+        assertThat(tags).containsEntry("java", java);
+        verify(tagRepository, times(2)).findAndLockByNameIn(anyCollection());
+    }
+
+    @Test
+    public void givenNamesEqualByCollation_whenResolve_thenBothMappedToStoredTag() {
+        //given
+        Tag java = createTag(1L, "java");
+        when(tagRepository.findAndLockByNameIn(Set.of("java", "Java"))).thenReturn(List.of(java));
+        when(inserter.insert(any(Tag.class))).thenReturn(false);
+        when(tagRepository.findAndLockByNameIn(Set.of("Java"))).thenReturn(List.of(java));
+        when(tagRepository.findAndLockByIdIn(Set.of(1L))).thenReturn(List.of(java));
+
+        //when
+        Map<String, Tag> tags = directory.resolve(Set.of("java", "Java"));
+
+        //then
+        assertThat(tags).containsEntry("java", java).containsEntry("Java", java);
+    }
+
+    @Test
+    public void givenPersistentConflict_whenResolve_thenExceptionThrownAfterMaxAttempts() {
+        //given
+        properties.getDirectory().setMaxAttempts(2);
+        directory = new TagDirectory(tagRepository, inserter, properties);
+        when(inserter.insert(any(Tag.class))).thenReturn(false);
+
+        //when
+        assertThatThrownBy(() -> directory.resolve(Set.of("java")))
+
+                //then
+                .isInstanceOf(DataIntegrityViolationException.class);
+        verify(inserter, times(2)).insert(any(Tag.class));
+        verify(tagRepository, never()).findAndLockByIdIn(anyCollection());
+    }
+
+    @Test
+    public void givenDeletedTag_whenResolve_thenResolvedAgain() {
+        //given
+        when(tagRepository.findAndLockByNameIn(Set.of("java")))
+                .thenReturn(List.of(createTag(1L, "java")))
+                .thenReturn(List.of(createTag(2L, "java")));
+        when(tagRepository.findAndLockByIdIn(Set.of(1L)))
+                .thenReturn(List.of(createTag(1L, "java")))
+                .thenReturn(Collections.emptyList());
+        when(tagRepository.findAndLockByIdIn(Set.of(2L))).thenReturn(List.of(createTag(2L, "java")));
+        directory.resolve(Set.of("java"));
+
+        //when
+        Map<String, Tag> tags = directory.resolve(Set.of("java"));
+
+        //then
+        assertThat(tags.get("java").getId()).isEqualTo(2L);
+    }
+
+    @Test
+    public void givenEvictedTag_whenResolve_thenLookedUpByNameAgain() {
+        //given
+        Tag java = createTag(1L, "java");
+        when(tagRepository.findAndLockByNameIn(Set.of("java"))).thenReturn(List.of(java));
+        when(tagRepository.findAndLockByIdIn(anyCollection())).thenReturn(List.of(java));
+        directory.resolve(Set.of("java"));
+
+        //when
+        directory.evict(List.of(1L));
+        directory.resolve(Set.of("java"));
+
+        //then
+        verify(tagRepository, times(2)).findAndLockByNameIn(anyCollection());
+    }
+
+    private Tag createTag(Long id, String name) {
+        Tag tag = new Tag();
+        tag.setId(id);
+        tag.setName(name);
+        return tag;
+    }
+}
@@ -0,0 +1,133 @@
+package gdinternshipspringapp.unitTest.service;
+
+import gdinternshipspringapp.configuration.UserProperties;
+import gdinternshipspringapp.exception.ServiceException;
+import gdinternshipspringapp.model.dto.UserDto;
+import gdinternshipspringapp.model.dto.UserImportResultDto;
+import gdinternshipspringapp.model.dto.UserImportSummaryDto;
+import gdinternshipspringapp.service.UserImportService;
+import gdinternshipspringapp.service.UserService;
+import gdinternshipspringapp.service.impl.UserImportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static gdinternshipspringapp.support.UserDtoBuilder.user;
+import static gdinternshipspringapp.exception.errorCode.UserServiceErrorCode.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceTest {
+
+    private UserImportService importService;
+
+    @Mock
+    private UserService userService;
+
+    private UserDto first;
+
+    private UserDto second;
+
+    private UserDto third;
+
+    @BeforeEach
+    public void setUp() {
+        UserProperties properties = new UserProperties();
+        properties.getImport().setChunkSize(2);
+        importService = new UserImportServiceImpl(userService, properties);
+        first = user("Alex").build();
+        second = user("John").build();
+        third = user("Ivan").build();
+    }
+
+    @Test
+    public void givenUsers_whenImport_thenPersistedInChunks() {
+        //given
+        when(userService.createUsers(Arrays.asList(first, second))).thenReturn(Arrays.asList(1L, 2L));
+        when(userService.createUsers(Arrays.asList(third))).thenReturn(Arrays.asList(3L));
+
+        //when
+        UserImportSummaryDto summary = importService.importUsers(Arrays.asList(first, second, third).iterator());
+
+        //then
+        assertThat(summary.getCreated()).isEqualTo(3);
+        assertThat(summary.getFailed()).isEqualTo(0);
+        assertThat(summary.getResults()).containsExactly(
+                UserImportResultDto.created(0, 1L),
+                UserImportResultDto.created(1, 2L),
+                UserImportResultDto.created(2, 3L));
+        verify(userService, times(2)).createUsers(anyList());
+        verifyNoMoreInteractions(userService);
+    }
+
+    @Test
+    public void givenFailingChunk_whenImport_thenUsersRetriedOneByOne() {
+        //given
+        UserDto created = new UserDto();
+        created.setId(1L);
+        when(userService.createUsers(Arrays.asList(first, second))).thenThrow(new IllegalStateException());
+        when(userService.createUser(first)).thenReturn(created);
+        when(userService.createUser(second)).thenThrow(new IllegalStateException("Duplicate entry 'al' for key 'login'"));
+
+        //when
+        UserImportSummaryDto summary = importService.importUsers(Arrays.asList(first, second).iterator());
+
+        //then
+        assertThat(summary.getCreated()).isEqualTo(1);
+        assertThat(summary.getFailed()).isEqualTo(1);
+        assertThat(summary.getResults()).containsExactly(
+                UserImportResultDto.created(0, 1L),
+                UserImportResultDto.failed(1, new ServiceException(USER_NOT_CREATED).getCode()));
+    }
+
+    @Test
+    public void givenUserRejectedByService_whenImport_thenItsErrorCodeReported() {
+        //given
+        when(userService.createUsers(Arrays.asList(first))).thenThrow(new ServiceException(FORUM_NOT_EXIST));
+        when(userService.createUser(first)).thenThrow(new ServiceException(FORUM_NOT_EXIST));
+
+        //when
+        UserImportSummaryDto summary = importService.importUsers(Arrays.asList(first).iterator());
+
+        //then
+        assertThat(summary.getResults()).containsExactly(
+                UserImportResultDto.failed(0, new ServiceException(FORUM_NOT_EXIST).getCode()));
+    }
+
+    @Test
+    public void givenUnreadableInput_whenImport_thenReadUsersPersistedAndFailureReported() {
+        //given
+        Iterator<UserDto> users = new Iterator<>() {
+            private final Iterator<UserDto> delegate = List.of(first).iterator();
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public UserDto next() {
+                if (delegate.hasNext()) {
+                    return delegate.next();
+                }
+                throw new IllegalArgumentException("Unexpected token");
+            }
+        };
+        when(userService.createUsers(Arrays.asList(first))).thenReturn(Arrays.asList(1L));
+
+        //when
+        UserImportSummaryDto summary = importService.importUsers(users);
+
+        //then
+        assertThat(summary.getResults()).containsExactly(
+                UserImportResultDto.created(0, 1L),
+                UserImportResultDto.failed(1, new ServiceException(IMPORT_INPUT_MALFORMED).getCode()));
+    }
+}
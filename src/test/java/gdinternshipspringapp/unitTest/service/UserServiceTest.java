@@ -1,24 +1,49 @@
 package gdinternshipspringapp.unitTest.service;
 
+import gdinternshipspringapp.configuration.UserProperties;
 import gdinternshipspringapp.converter.UserConverter;
+import gdinternshipspringapp.exception.ServiceException;
+import gdinternshipspringapp.model.dto.PageDto;
 import gdinternshipspringapp.model.dto.UserDto;
-import gdinternshipspringapp.model.entity.Post;
-import gdinternshipspringapp.model.entity.Topic;
-import gdinternshipspringapp.model.entity.User;
+import gdinternshipspringapp.model.dto.UserPatchDto;
+import gdinternshipspringapp.model.entity.*;
+import gdinternshipspringapp.model.projection.UserSummary;
 import gdinternshipspringapp.repository.*;
 import gdinternshipspringapp.service.UserService;
+import gdinternshipspringapp.service.impl.ForumDirectory;
+import gdinternshipspringapp.service.impl.TagDirectory;
+import gdinternshipspringapp.service.impl.UserCursor;
 import gdinternshipspringapp.service.impl.UserServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import javax.persistence.EntityManager;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static gdinternshipspringapp.configuration.UserCacheConfiguration.USER_CACHE;
+import static gdinternshipspringapp.exception.errorCode.UserServiceErrorCode.VERSION_MISMATCH;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
@@ -54,14 +79,39 @@ class UserServiceTest {
     @Mock
     private UserConverter converter;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TagDirectory tagDirectory;
+
+    @Mock
+    private ForumDirectory forumDirectory;
+
+    @Mock
+    private ObjectProvider<CacheManager> cacheManager;
+
+    @Mock
+    private CacheManager userCacheManager;
+
+    @Mock
+    private Cache userCache;
+
     private UserDto userDto;
 
     private User user;
 
+    private UserProperties properties;
+
     @BeforeEach
     public void setUp(){
+        properties = new UserProperties();
         service = spy(new UserServiceImpl(userRepository,topicRepository, tagRepository,
-                sectionRepository, postRepository, picRepository, forumRepository, commentRepository,converter));
+                sectionRepository, postRepository, picRepository, forumRepository, commentRepository,converter,
+                properties, entityManager, transactionManager, tagDirectory, forumDirectory, cacheManager));
         userDto = new UserDto();
         user = new User();
     }
@@ -69,34 +119,232 @@ class UserServiceTest {
     @Test
     public void givenUsers_whenFindAll_thenUsersReturned() {
         //given
-        when(userRepository.findByOrderByNameAsc()).thenReturn(Collections.singletonList(user));
+        when(userRepository.findByOrderByNameAsc()).thenReturn(Collections.singletonList(createUser(1L, "Alex")));
         when(converter.toUserDtos(anyList())).thenReturn(Collections.singletonList(userDto));
 
         //when
         int listSize = service.findAll().size();
 
         //then
+        List<Long> ids = Collections.singletonList(1L);
         assertThat(listSize).isEqualTo(1);
         verify(userRepository, times(1)).findByOrderByNameAsc();
+        verify(userRepository, times(1)).fetchTopicsByIdIn(ids);
+        verify(userRepository, times(1)).fetchPostsByIdIn(ids);
+        verify(userRepository, times(1)).fetchCommentsByIdIn(ids);
         verify(converter, times(1)).toUserDtos(anyList());
         verifyNoMoreInteractions(userRepository, converter);
     }
 
+    @Test
+    public void givenMoreUsersThanInSize_whenFindAll_thenCollectionsFetchedInChunks() {
+        //given
+        properties.getFetch().setInSize(2);
+        when(userRepository.findByOrderByNameAsc()).thenReturn(Arrays.asList(
+                createUser(1L, "Alex"), createUser(2L, "Bob"), createUser(3L, "John")));
+
+        //when
+        service.findAll();
+
+        //then
+        for (List<Long> chunk : Arrays.asList(Arrays.asList(1L, 2L), Collections.singletonList(3L))) {
+            verify(userRepository, times(1)).fetchTopicsByIdIn(chunk);
+            verify(userRepository, times(1)).fetchPostsByIdIn(chunk);
+            verify(userRepository, times(1)).fetchCommentsByIdIn(chunk);
+        }
+    }
+
+    @Test
+    public void givenMoreUsersThanPageSize_whenFindPage_thenNextTokenReturned() {
+        //given
+        User first = createUser(1L, "Alex");
+        User second = createUser(2L, "John");
+        when(userRepository.findByOrderByNameAscIdAsc(PageRequest.of(0, 2)))
+                .thenReturn(Arrays.asList(first, second));
+        when(converter.toUserDtos(anyList())).thenReturn(Collections.singletonList(userDto));
+
+        //when
+        PageDto<UserDto> page = service.findPage(null, 1, false);
+
+        //then
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(page.getNextToken()).isEqualTo(UserCursor.of(first).encode());
+        assertThat(page.getApproximateTotal()).isNull();
+        verify(userRepository, times(1)).fetchTopicsByIdIn(Collections.singletonList(1L));
+        verify(userRepository, times(1)).fetchPostsByIdIn(Collections.singletonList(1L));
+        verify(userRepository, times(1)).fetchCommentsByIdIn(Collections.singletonList(1L));
+        verify(converter, times(1)).toUserDtos(Collections.singletonList(first));
+        verifyNoMoreInteractions(userRepository, converter);
+    }
+
+    @Test
+    public void givenToken_whenFindPage_thenUsersAfterCursorReturned() {
+        //given
+        properties.getPage().setEstimateTotal(true);
+        String token = UserCursor.of(createUser(1L, "Alex")).encode();
+        when(userRepository.findPageAfter("Alex", 1L, PageRequest.of(0, 21)))
+                .thenReturn(Collections.singletonList(user));
+        when(userRepository.estimateCount()).thenReturn(2L);
+        when(converter.toUserDtos(anyList())).thenReturn(Collections.singletonList(userDto));
+
+        //when
+        PageDto<UserDto> page = service.findPage(token, null, true);
+
+        //then
+        assertThat(page.getNextToken()).isNull();
+        assertThat(page.getApproximateTotal()).isEqualTo(2L);
+        verify(userRepository, times(1)).findPageAfter("Alex", 1L, PageRequest.of(0, 21));
+        verify(userRepository, times(1)).estimateCount();
+    }
+
+    @Test
+    public void givenTokenOfUserWithoutName_whenFindPage_thenUsersAfterNullNameReturnedAndCounted() {
+        //given
+        String token = UserCursor.of(createUser(1L, null)).encode();
+        when(userRepository.findPageAfter(null, 1L, PageRequest.of(0, 21)))
+                .thenReturn(Collections.singletonList(user));
+        when(userRepository.count()).thenReturn(2L);
+        when(converter.toUserDtos(anyList())).thenReturn(Collections.singletonList(userDto));
+
+        //when
+        PageDto<UserDto> page = service.findPage(token, null, true);
+
+        //then
+        assertThat(page.getApproximateTotal()).isEqualTo(2L);
+        verify(userRepository, times(1)).findPageAfter(null, 1L, PageRequest.of(0, 21));
+        verify(userRepository, never()).estimateCount();
+    }
+
+    @Test
+    public void givenMoreSummariesThanPageSize_whenFindSummaryPage_thenNextTokenReturned() {
+        //given
+        UserSummary first = mock(UserSummary.class);
+        when(first.getId()).thenReturn(1L);
+        when(first.getName()).thenReturn("Alex");
+        UserSummary second = mock(UserSummary.class);
+        when(userRepository.findSummaries(PageRequest.of(0, 2))).thenReturn(Arrays.asList(first, second));
+
+        //when
+        PageDto<UserSummary> page = service.findSummaryPage(null, 1);
+
+        //then
+        assertThat(page.getContent()).containsExactly(first);
+        assertThat(page.getNextToken()).isEqualTo(UserCursor.of(createUser(1L, "Alex")).encode());
+        verify(userRepository, times(1)).findSummaries(PageRequest.of(0, 2));
+        verifyNoMoreInteractions(userRepository);
+        verifyNoInteractions(converter);
+    }
+
+    @Test
+    public void givenToken_whenFindSummaryPage_thenSummariesAfterCursorReturned() {
+        //given
+        String token = UserCursor.of(createUser(1L, "Alex")).encode();
+        UserSummary summary = mock(UserSummary.class);
+        when(userRepository.findSummariesAfter("Alex", 1L, PageRequest.of(0, 21)))
+                .thenReturn(Collections.singletonList(summary));
+
+        //when
+        PageDto<UserSummary> page = service.findSummaryPage(token, null);
+
+        //then
+        assertThat(page.getContent()).containsExactly(summary);
+        assertThat(page.getNextToken()).isNull();
+        verify(userRepository, times(1)).findSummariesAfter("Alex", 1L, PageRequest.of(0, 21));
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    public void givenMalformedToken_whenFindPage_thenServiceExceptionThrown() {
+        assertThatThrownBy(() -> service.findPage("not a token", null, false))
+                .isInstanceOf(ServiceException.class);
+        verifyNoInteractions(userRepository, converter);
+    }
+
+    @Test
+    public void givenUsers_whenStreamAll_thenEachUserConvertedAndContextCleared() {
+        //given
+        properties.getStream().setClearInterval(2);
+        when(userRepository.streamAllByOrderByNameAscIdAsc())
+                .thenReturn(Stream.of(createUser(1L, "Alex"), createUser(2L, "John"), createUser(3L, "Ivan")));
+        when(converter.toUserDto(any(User.class))).thenReturn(userDto);
+        List<UserDto> streamed = new ArrayList<>();
+
+        //when
+        service.streamAll(streamed::add);
+
+        //then
+        assertThat(streamed).hasSize(3);
+        verify(converter, times(3)).toUserDto(any(User.class));
+        verify(entityManager, times(1)).clear();
+    }
+
+    @Test
+    public void givenZeroClearInterval_whenStreamAll_thenContextNeverCleared() {
+        //given
+        properties.getStream().setClearInterval(0);
+        when(userRepository.streamAllByOrderByNameAscIdAsc())
+                .thenReturn(Stream.of(createUser(1L, "Alex"), createUser(2L, "John")));
+        when(converter.toUserDto(any(User.class))).thenReturn(userDto);
+        List<UserDto> streamed = new ArrayList<>();
+
+        //when
+        service.streamAll(streamed::add);
+
+        //then
+        assertThat(streamed).hasSize(2);
+        verify(entityManager, never()).clear();
+    }
+
+    @Test
+    public void givenZeroFlushInterval_whenCreateUsers_thenFlushedOnlyAtTheEnd() {
+        //given
+        properties.getImport().setFlushInterval(0);
+        User first = createUser(null, "Alex");
+        User second = createUser(null, "John");
+        when(converter.toUsers(anyList())).thenReturn(Arrays.asList(first, second));
+        when(userRepository.save(first)).thenReturn(createUser(1L, "Alex"));
+        when(userRepository.save(second)).thenReturn(createUser(2L, "John"));
+
+        //when
+        List<Long> ids = service.createUsers(Arrays.asList(new UserDto(), new UserDto()));
+
+        //then
+        assertThat(ids).containsExactly(1L, 2L);
+        verify(entityManager, times(1)).flush();
+        verify(entityManager, times(1)).clear();
+    }
+
     @Test
     public void givenId_whenFind_thenUserReturned() {
         //given
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        List<Long> ids = Collections.singletonList(1L);
+        when(userRepository.fetchTopicsByIdIn(ids)).thenReturn(Collections.singletonList(user));
         when(converter.toUserDto(any(User.class))).thenReturn(userDto);
 
         //when
         service.findUserById(1L);
 
         //then
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(converter, times(1)).toUserDto(any(User.class));
+        verify(userRepository, times(1)).fetchTopicsByIdIn(ids);
+        verify(userRepository, times(1)).fetchPostsByIdIn(ids);
+        verify(userRepository, times(1)).fetchCommentsByIdIn(ids);
+        verify(converter, times(1)).toUserDto(user);
         verifyNoMoreInteractions(userRepository, converter);
     }
 
+    @Test
+    public void givenAbsentId_whenFind_thenServiceExceptionThrown() {
+        //given
+        when(userRepository.fetchTopicsByIdIn(anyCollection())).thenReturn(Collections.emptyList());
+
+        //when
+        assertThatThrownBy(() -> service.findUserById(1L))
+
+                //then
+                .isInstanceOf(ServiceException.class);
+        verifyNoInteractions(converter);
+    }
+
     @Test
     public void givenUser_whenSave_thenUserReturned() {
         //given
@@ -113,10 +361,63 @@ class UserServiceTest {
         verify(userRepository, times(1)).save(any(User.class));
         verify(postRepository, times(1)).saveAll(any());
         verify(topicRepository, times(1)).saveAll(any());
+        verify(commentRepository, times(1)).saveAll(any());
         verify(converter, times(1)).toUserDto(any(User.class));
         verify(converter, times(1)).toUser(any(UserDto.class));
-        verifyNoMoreInteractions(userRepository, converter, postRepository, topicRepository);
-        verifyNoInteractions(picRepository, commentRepository, sectionRepository, forumRepository, tagRepository);
+        verifyNoMoreInteractions(userRepository, converter, postRepository, topicRepository, commentRepository);
+        verifyNoInteractions(picRepository, sectionRepository, forumRepository, tagRepository, tagDirectory,
+                forumDirectory);
+    }
+
+    @Test
+    public void givenTopicsSharingTagName_whenSave_thenTagResolvedOnce() {
+        //given
+        Topic first = createTopic("First", "java", null);
+        Topic second = createTopic("Second", "java", "spring");
+        user.setTopics(new HashSet<>(Arrays.asList(first, second)));
+        Tag java = createTag(1L, "java");
+        Tag spring = createTag(2L, "spring");
+        when(converter.toUser(any(UserDto.class))).thenReturn(user);
+        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(tagDirectory.resolve(new HashSet<>(Arrays.asList("java", "spring"))))
+                .thenReturn(Map.of("java", java, "spring", spring));
+
+        //when
+        service.createUser(new UserDto());
+
+        //then
+        verify(tagDirectory, times(1)).resolve(anyCollection());
+        verifyNoInteractions(tagRepository);
+        assertThat(first.getTags()).containsExactly(java);
+        assertThat(second.getTags()).containsExactlyInAnyOrder(java, spring);
+        assertThat(first.getTags().iterator().next()).isSameAs(second.getTags().stream()
+                .filter(tag -> tag.getName().equals("java")).findFirst().orElseThrow(AssertionError::new));
+    }
+
+    @Test
+    public void givenTopicsInSameForum_whenSave_thenForumsResolvedAndNotSaved() {
+        //given
+        Topic first = createTopic("First");
+        Topic second = createTopic("Second");
+        user.setTopics(new HashSet<>(Arrays.asList(first, second)));
+        Forum forum = new Forum();
+        forum.setId(1L);
+        forum.setName("Java");
+        Map<Forum, Forum> forums = new IdentityHashMap<>();
+        forums.put(first.getForum(), forum);
+        forums.put(second.getForum(), forum);
+        when(converter.toUser(any(UserDto.class))).thenReturn(user);
+        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(forumDirectory.resolve(anyCollection())).thenReturn(forums);
+
+        //when
+        service.createUser(new UserDto());
+
+        //then
+        verify(forumDirectory, times(1)).resolve(anyCollection());
+        verifyNoInteractions(sectionRepository, forumRepository);
+        assertThat(first.getForum()).isSameAs(forum);
+        assertThat(second.getForum()).isSameAs(forum);
     }
 
     @Test
@@ -124,15 +425,185 @@ class UserServiceTest {
         //given
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
         when(converter.toUserDto(any(User.class))).thenReturn(userDto);
-        when(converter.toUser(any(UserDto.class))).thenReturn(user);
+        UserDto update = new UserDto();
+        update.setName("John");
+        update.setRole(Role.ADMIN);
 
         //when
-        service.updateUser(1L, new UserDto());
+        service.updateUser(1L, update, null);
 
         //then
+        assertThat(user.getName()).isEqualTo("John");
+        assertThat(user.getRole()).isEqualTo(Role.ADMIN);
         verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).flush();
         verify(converter, times(1)).toUserDto(any(User.class));
-        verify(converter, times(1)).toUser(any(UserDto.class));
         verifyNoMoreInteractions(userRepository, converter);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void givenPatch_whenPatch_thenOnlySuppliedFieldsChanged() {
+        //given
+        user.setName("Alex");
+        user.setEmail("alex@gmail.com");
+        user.setVersion(1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        UserPatchDto patch = new UserPatchDto();
+        patch.setEmail("alex@yahoo.com");
+
+        //when
+        Long version = service.patchUser(1L, patch, 1L);
+
+        //then
+        assertThat(version).isEqualTo(1L);
+        assertThat(user.getName()).isEqualTo("Alex");
+        assertThat(user.getEmail()).isEqualTo("alex@yahoo.com");
+        verify(userRepository, times(1)).findById(1L);
+        verify(userRepository, times(1)).flush();
+        verifyNoMoreInteractions(userRepository);
+        verifyNoInteractions(converter);
+    }
+
+    @Test
+    public void givenConcurrentUpdate_whenPatchWithoutVersion_thenRetried() {
+        //given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        doThrow(new ObjectOptimisticLockingFailureException(User.class, 1L)).doNothing()
+                .when(userRepository).flush();
+
+        //when
+        service.patchUser(1L, new UserPatchDto(), null);
+
+        //then
+        verify(userRepository, times(2)).findById(1L);
+        verify(userRepository, times(2)).flush();
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    public void givenConcurrentUpdate_whenPatchWithVersion_thenNotRetried() {
+        //given
+        user.setVersion(1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        doThrow(new ObjectOptimisticLockingFailureException(User.class, 1L)).when(userRepository).flush();
+
+        //when
+        assertThatThrownBy(() -> service.patchUser(1L, new UserPatchDto(), 1L))
+
+                //then
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        verify(userRepository, times(1)).flush();
+    }
+
+    @Test
+    public void givenStaleVersion_whenUpdate_thenServiceExceptionThrown() {
+        //given
+        user.setVersion(2L);
+        user.setName("Alex");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        UserDto update = new UserDto();
+        update.setName("John");
+
+        //when
+        assertThatThrownBy(() -> service.updateUser(1L, update, 1L))
+
+                //then
+                .isInstanceOf(ServiceException.class)
+                .hasMessage(VERSION_MISMATCH.getMessage());
+        assertThat(user.getName()).isEqualTo("Alex");
+        verify(userRepository, never()).flush();
+    }
+
+    @Test
+    public void givenId_whenFindVersion_thenVersionReturned() {
+        //given
+        when(userRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        //when
+        Long version = service.findVersionById(1L);
+
+        //then
+        assertThat(version).isEqualTo(3L);
+        verify(userRepository, times(1)).findVersionById(1L);
+        verifyNoMoreInteractions(userRepository);
+        verifyNoInteractions(converter);
+    }
+
+    @Test
+    public void givenId_whenDelete_thenAggregateDeletedInBulk() {
+        //given
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(tagRepository.findIdsOfUserTopics(1L)).thenReturn(Collections.singletonList(2L));
+        when(tagRepository.findUnusedIdsIn(Collections.singletonList(2L))).thenReturn(Collections.singletonList(2L));
+        when(forumRepository.findIdsOfUserTopics(1L)).thenReturn(Collections.singletonList(3L));
+        when(sectionRepository.findIdsOfUserTopics(1L)).thenReturn(Collections.emptyList());
+        when(postRepository.findOtherAuthorIdsInTopicsOfUser(1L)).thenReturn(Collections.singletonList(4L));
+        when(commentRepository.findOtherAuthorIdsOnPostsOfUser(1L)).thenReturn(Arrays.asList(4L, 5L));
+        when(cacheManager.getIfAvailable()).thenReturn(userCacheManager);
+        when(userCacheManager.getCache(USER_CACHE)).thenReturn(userCache);
+
+        //when
+        service.deleteUserById(1L);
+
+        //then
+        verify(commentRepository, times(1)).deleteAllOfUser(1L);
+        verify(picRepository, times(1)).deleteAllOfUser(1L);
+        verify(postRepository, times(1)).deleteAllOfUser(1L);
+        verify(topicRepository, times(1)).deleteAllOfUser(1L);
+        verify(tagRepository, times(1)).deleteBulkByIdIn(Collections.singletonList(2L));
+        verify(tagDirectory, times(1)).evict(Collections.singletonList(2L));
+        verify(forumDirectory, times(1)).evict(Collections.singletonList(3L), Collections.emptyList());
+        verify(forumRepository, times(1)).deleteUnusedByIdIn(Collections.singletonList(3L));
+        verify(sectionRepository, never()).deleteUnusedByIdIn(anyCollection());
+        verify(userRepository, times(1)).deleteBulkById(1L);
+        verify(userRepository, times(1)).incrementVersionByIdIn(new HashSet<>(Arrays.asList(4L, 5L)));
+        verify(userCache, times(1)).evict(4L);
+        verify(userCache, times(1)).evict(5L);
+        verifyNoMoreInteractions(userCache);
+        verifyNoInteractions(converter);
+    }
+
+    @Test
+    public void givenAbsentId_whenDelete_thenServiceExceptionThrown() {
+        //given
+        when(userRepository.existsById(1L)).thenReturn(false);
+
+        //when
+        assertThatThrownBy(() -> service.deleteUserById(1L))
+
+                //then
+                .isInstanceOf(ServiceException.class);
+        verifyNoMoreInteractions(userRepository);
+        verifyNoInteractions(commentRepository, picRepository, postRepository, topicRepository);
+    }
+
+    private User createUser(Long id, String name) {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        return user;
+    }
+
+    private Topic createTopic(String name, String... tagNames) {
+        Section section = new Section();
+        section.setName(name);
+        Forum forum = new Forum();
+        forum.setName(name);
+        forum.setSection(section);
+        Topic topic = new Topic();
+        topic.setName(name);
+        topic.setForum(forum);
+        topic.setTags(Arrays.stream(tagNames)
+                .map(tagName -> createTag(null, tagName))
+                .collect(Collectors.toSet()));
+        return topic;
+    }
+
+    private Tag createTag(Long id, String name) {
+        Tag tag = new Tag();
+        tag.setId(id);
+        tag.setName(name);
+        return tag;
+    }
+}
@@ -0,0 +1,234 @@
+package gdinternshipspringapp.unitTest.utils;
+
+import gdinternshipspringapp.converter.UserConverter;
+import gdinternshipspringapp.converter.impl.DirectUserConverterImpl;
+import gdinternshipspringapp.converter.impl.UserConverterImpl;
+import gdinternshipspringapp.model.dto.*;
+import gdinternshipspringapp.model.entity.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static gdinternshipspringapp.support.UserDtoBuilder.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+
+class DirectUserConverterTest {
+
+    private UserConverter converter;
+
+    private UserConverter modelMapperConverter;
+
+    @BeforeEach
+    void setUp() {
+        converter = new DirectUserConverterImpl();
+        modelMapperConverter = new UserConverterImpl(new ModelMapper());
+    }
+
+    @Test
+    public void givenUser_whenConvert_thenSameDtoAsModelMapperReturned() {
+        //given
+        User user = createUser(1L, "Alex");
+
+        //when
+        UserDto userDto = converter.toUserDto(user);
+
+        //then
+        assertThat(userDto).isEqualTo(modelMapperConverter.toUserDto(user));
+        assertThat(userDto.getTopics().iterator().next().getForum().getSection().getName())
+                .isEqualTo("Cold steel and projectile weapons");
+        assertThat(userDto.getPosts().iterator().next().getPics()).hasSize(1);
+    }
+
+    @Test
+    public void givenUsers_whenConvertList_thenSameDtosAsModelMapperReturned() {
+        //given
+        List<User> users = Arrays.asList(createUser(1L, "Alex"), createUser(2L, "John"));
+
+        //when
+        List<UserDto> userDtos = converter.toUserDtos(users);
+
+        //then
+        assertThat(userDtos).isEqualTo(modelMapperConverter.toUserDtos(users));
+    }
+
+    @Test
+    public void givenUserDto_whenConvert_thenSameGraphAsModelMapperReturned() {
+        //given
+        UserDto userDto = modelMapperConverter.toUserDto(createUser(1L, "Alex"));
+
+        //when
+        User user = converter.toUser(userDto);
+
+        //then
+        User expected = modelMapperConverter.toUser(userDto);
+        assertThat(converter.toUserDto(user)).isEqualTo(converter.toUserDto(expected));
+        Post post = user.getPosts().iterator().next();
+        Topic topic = user.getTopics().iterator().next();
+        Comment comment = user.getComments().iterator().next();
+        assertThat(post.getUser()).isSameAs(user);
+        assertThat(post.getTopic()).isSameAs(topic);
+        assertThat(post.getPics().iterator().next().getPost()).isSameAs(post);
+        assertThat(comment.getUser()).isSameAs(user);
+        assertThat(comment.getPost()).isSameAs(post);
+        assertThat(topic.getUser()).isSameAs(user);
+        assertThat(topic.getTags().iterator().next().getTopics()).containsExactly(topic);
+        assertThat(topic.getForum().getTopics()).containsExactly(topic);
+        assertThat(topic.getForum().getSection().getForums()).containsExactly(topic.getForum());
+    }
+
+    @Test
+    public void givenManyTopicsPostsAndComments_whenConvert_thenLinkedToLastTopicAndPost() {
+        //given
+        UserDto userDto = new UserDto();
+        userDto.setTopics(new HashSet<>(Arrays.asList(createTopicDto("First"), createTopicDto("Second"))));
+        userDto.setPosts(new HashSet<>(Arrays.asList(createPostDto("First"), createPostDto("Second"),
+                createPostDto("Third"))));
+        userDto.setComments(new HashSet<>(Arrays.asList(createCommentDto("First"), createCommentDto("Second"))));
+
+        //when
+        User user = converter.toUser(userDto);
+
+        //then
+        Topic topic = user.getPosts().iterator().next().getTopic();
+        Post post = user.getComments().iterator().next().getPost();
+        assertThat(user.getPosts()).allSatisfy(linkedPost -> assertThat(linkedPost.getTopic()).isSameAs(topic));
+        assertThat(user.getComments()).allSatisfy(comment -> assertThat(comment.getPost()).isSameAs(post));
+        assertThat(topic.getPosts()).containsExactlyInAnyOrderElementsOf(user.getPosts());
+        assertThat(post.getComments()).containsExactlyInAnyOrderElementsOf(user.getComments());
+        assertThat(user.getTopics()).filteredOn(other -> other != topic)
+                .allSatisfy(other -> assertThat(other.getPosts()).isEmpty());
+    }
+
+    @Test
+    public void givenTopicWithoutForum_whenConvert_thenSameGraphAsModelMapperReturned() {
+        //given
+        TopicDto topicDto = new TopicDto();
+        topicDto.setName("Without forum");
+        topicDto.setTags(new HashSet<>());
+        UserDto userDto = user("Alex").posts(1).build();
+        userDto.getTopics().add(topicDto);
+
+        //when
+        User user = converter.toUser(userDto);
+
+        //then
+        User expected = modelMapperConverter.toUser(userDto);
+        assertThat(converter.toUserDto(user)).isEqualTo(converter.toUserDto(expected));
+        Topic topic = user.getTopics().iterator().next();
+        assertThat(topic.getForum()).isNull();
+        assertThat(topic.getUser()).isSameAs(user);
+        assertThat(user.getPosts().iterator().next().getTopic()).isSameAs(topic);
+    }
+
+    @Test
+    public void givenSixteenThousandPostsAndComments_whenConvert_thenConvertedInLinearTime() {
+        //given
+        UserDto userDto = new UserDto();
+        userDto.setTopics(new HashSet<>(Collections.singleton(createTopicDto("Only"))));
+        Set<PostDto> posts = new HashSet<>();
+        Set<CommentDto> comments = new HashSet<>();
+        for (int i = 0; i < 16_000; i++) {
+            posts.add(createPostDto("Post " + i));
+            comments.add(createCommentDto("Comment " + i));
+        }
+        userDto.setPosts(posts);
+        userDto.setComments(comments);
+
+        //when
+        User user = assertTimeout(Duration.ofSeconds(5), () -> converter.toUser(userDto));
+
+        //then
+        assertThat(user.getPosts()).hasSize(16_000);
+        assertThat(user.getComments()).hasSize(16_000);
+    }
+
+    @Test
+    public void givenSparseUserDto_whenConvert_thenEmptyCollectionsReturned() {
+        //given
+        UserDto userDto = new UserDto();
+        userDto.setName("Alex");
+
+        //when
+        User user = converter.toUser(userDto);
+
+        //then
+        assertThat(user.getName()).isEqualTo("Alex");
+        assertThat(user.getTopics()).isEmpty();
+        assertThat(user.getPosts()).isEmpty();
+        assertThat(user.getComments()).isEmpty();
+    }
+
+    private User createUser(Long id, String name) {
+        Section section = new Section();
+        section.setId(id);
+        section.setName("Cold steel and projectile weapons");
+        Forum forum = new Forum();
+        forum.setId(id);
+        forum.setName("Sharpening of cutting tool");
+        forum.setSection(section);
+        Tag tag = new Tag();
+        tag.setId(id);
+        tag.setName("Washita");
+        Topic topic = new Topic();
+        topic.setId(id);
+        topic.setName("Identify stone");
+        topic.setForum(forum);
+        topic.setTags(new HashSet<>(Collections.singleton(tag)));
+        Pic pic = new Pic();
+        pic.setId(id);
+        pic.setCaption("Washita oil stone");
+        pic.setImageLink("http://zatochiklinok.ru/wp-content/gallery/washita/0023-lw.JPG");
+        Post post = new Post();
+        post.setId(id);
+        post.setMessage("Help me to identify sharpening stone from ebay");
+        post.setDate(LocalDate.of(2022, 2, 10));
+        post.setPics(new HashSet<>(Collections.singleton(pic)));
+        Comment comment = new Comment();
+        comment.setId(id);
+        comment.setName("First comment");
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        user.setLogin("al");
+        user.setPassword("asdf");
+        user.setEmail(name.toLowerCase() + "@gmail.com");
+        user.setRole(Role.USER);
+        user.setTopics(new HashSet<>(Collections.singleton(topic)));
+        user.setPosts(new HashSet<>(Collections.singleton(post)));
+        user.setComments(new HashSet<>(Collections.singleton(comment)));
+        return user;
+    }
+
+    private TopicDto createTopicDto(String name) {
+        SectionDto section = new SectionDto();
+        section.setName("Section " + name);
+        ForumDto forum = new ForumDto();
+        forum.setName("Forum " + name);
+        forum.setSection(section);
+        TopicDto topic = new TopicDto();
+        topic.setName(name);
+        topic.setForum(forum);
+        return topic;
+    }
+
+    private PostDto createPostDto(String message) {
+        PostDto post = new PostDto();
+        post.setMessage(message);
+        return post;
+    }
+
+    private CommentDto createCommentDto(String name) {
+        CommentDto comment = new CommentDto();
+        comment.setName(name);
+        return comment;
+    }
+}